@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+#
+# Compares Redis memory per tracked client for the two rate-limit layouts.
+#
+#   legacy   two string keys per client with their own TTL
+#            (rate_limit:minute:<ip>, rate_limit:day:<ip>)
+#   compact  one field per client in time-bucketed hashes that expire as a whole
+#            (rl:m:<bucket>:<shard>, rl:d:<bucket>:<shard>)
+#
+#   REDIS_URL=redis://localhost:6379 scripts/rate-limit-memory.sh [clients] [shards] > memory.txt
+#
+# Uses a scratch database (REDIS_DB, default 15), which is FLUSHED between runs.
+# Point it at a disposable instance, never at production.
+#
+# The shard count defaults to what RateLimiterService derives for the same
+# number of clients (power of two, at most 64 clients per shard on average), and
+# clients are spread over shards at random as the hash-based assignment would.
+# Every shard must stay within hash-max-listpack-entries (hash-max-ziplist-entries
+# before Redis 7, 128 by default) for the compact encoding; the script reports the
+# fullest shard and the server limit.
+
+set -euo pipefail
+
+CLIENTS="${1:-1000000}"
+SHARDS="${2:-}"
+REDIS_URL="${REDIS_URL:-redis://localhost:6379}"
+REDIS_DB="${REDIS_DB:-15}"
+
+NOW="$(date +%s)"
+MINUTE=$(( NOW / 60 ))
+DAY=$(( NOW / 86400 ))
+
+if [[ -z "$SHARDS" ]]; then
+  SHARDS=1
+  while (( SHARDS * 64 < CLIENTS )); do SHARDS=$(( SHARDS * 2 )); done
+fi
+
+cli() { redis-cli -u "$REDIS_URL" -n "$REDIS_DB" "$@"; }
+
+used_memory() { cli INFO memory | awk -F: '/^used_memory:/ { gsub("\r", "", $2); print $2 }'; }
+
+# Client keys in the same shape ClientKeyResolver produces for IPv4 /32.
+client_key() { printf '4%08x' "$1"; }
+
+load_legacy() {
+  awk -v n="$CLIENTS" 'BEGIN {
+    for (i = 0; i < n; i++) {
+      ip = sprintf("10.%d.%d.%d", int(i / 65536) % 256, int(i / 256) % 256, i % 256)
+      printf "SET rate_limit:minute:%s 1 EX 60\n", ip
+      printf "SET rate_limit:day:%s 1 EX 86400\n", ip
+    }
+  }' | cli --pipe > /dev/null
+}
+
+# The minute buckets get one extra minute so they survive a slow load.
+load_compact() {
+  awk -v n="$CLIENTS" -v shards="$SHARDS" -v m="$MINUTE" -v d="$DAY" \
+      -v mexp=$(( (MINUTE + 2) * 60 )) -v dexp=$(( (DAY + 1) * 86400 )) 'BEGIN {
+    srand(1)
+    for (i = 0; i < n; i++) {
+      field = sprintf("4%08x", i)
+      shard = int(rand() * shards)
+      if (++fill[shard] > fullest) fullest = fill[shard]
+      printf "HINCRBY rl:m:%d:%d %s 1\n", m, shard, field
+      printf "HINCRBY rl:d:%d:%d %s 1\n", d, shard, field
+    }
+    printf "fullest shard: %d clients\n", fullest > "/dev/stderr"
+    for (s = 0; s < shards && s < n; s++) {
+      printf "EXPIREAT rl:m:%d:%d %d\n", m, s, mexp
+      printf "EXPIREAT rl:d:%d:%d %d\n", d, s, dexp
+    }
+  }' | cli --pipe > /dev/null
+}
+
+measure() {
+  local layout="$1" loader="$2" before after sample
+  cli FLUSHDB > /dev/null
+  before="$(used_memory)"
+  "$loader"
+  after="$(used_memory)"
+
+  if [[ "$layout" == "legacy" ]]; then
+    sample="$(cli MEMORY USAGE "rate_limit:minute:10.0.0.1") + $(cli MEMORY USAGE "rate_limit:day:10.0.0.1") bytes for one client"
+  else
+    sample="$(cli MEMORY USAGE "rl:m:$MINUTE:1" SAMPLES 0) bytes, $(cli OBJECT ENCODING "rl:m:$MINUTE:1") encoding for one minute shard"
+  fi
+
+  printf '%-8s keys=%-9s used_memory_delta=%-12s bytes_per_client=%-8s %s\n' \
+    "$layout" "$(cli DBSIZE)" "$(( after - before ))" "$(( (after - before) / CLIENTS ))" "$sample"
+}
+
+echo "clients=$CLIENTS shards=$SHARDS clients_per_shard=$(( (CLIENTS + SHARDS - 1) / SHARDS ))" \
+  "$(cli CONFIG GET 'hash-max-*-entries' | paste -sd' ' -)"
+echo "sample client key: $(client_key 1)"
+
+measure legacy load_legacy
+measure compact load_compact
+cli FLUSHDB > /dev/null
@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-successful-request and resident memory for each
+# startup mode of the aiprep jar.
+#
+#   mvn -Pfast-start -DskipTests package
+#   scripts/startup-benchmark.sh [runs]        > bench_output.txt
+#
+# Modes:
+#   default     plain jar
+#   fast-start  lazy initialization profile
+#   aot-cds     fast-start + Spring AOT + class data sharing archive
+#
+# Needs the same environment as a normal run (REDIS_URL, DB_*). The probe is a
+# real POST /api/mock-interview/ideal served by the stub LLM (llm.stub=true), so
+# the time includes creating the controller, service and LLM beans that lazy
+# initialization defers, plus the Redis connection opened by RateLimitFilter.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+URL="http://localhost:${PORT}/api/mock-interview/ideal"
+BODY='{"question":"Tell me about a project you are proud of.","jobTitle":"Backend Engineer"}'
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-60}"
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/aiprep-*.jar | grep -v '\.original$' | head -n 1)"
+WORK="$ROOT/target/startup-benchmark"
+
+now_ms() { date +%s%3N; }
+
+rss_kb() { awk '/^VmRSS:/ { print $2 }' "/proc/$1/status" 2>/dev/null || echo 0; }
+
+# Extract once so the CDS archive is built against a stable classpath.
+prepare_cds() {
+  rm -rf "$WORK"
+  java -Djarmode=tools -jar "$JAR" extract --destination "$WORK" > /dev/null
+  local app_jar
+  app_jar="$(ls "$WORK"/*.jar | head -n 1)"
+  java -XX:ArchiveClassesAtExit="$WORK/app.jsa" \
+       -Dspring.aot.enabled=true \
+       -Dspring.profiles.active=fast-start \
+       -Dspring.context.exit=onRefresh \
+       -Dserver.port="$PORT" \
+       -jar "$app_jar" > /dev/null 2>&1 || true
+  echo "$app_jar"
+}
+
+run_once() {
+  local mode="$1"; shift
+  local start pid elapsed rss
+  start="$(now_ms)"
+  # Raised limits keep repeated runs from being rejected; the filter still runs.
+  java "$@" -Dserver.port="$PORT" -Dllm.stub=true \
+       -Drate-limit.max-requests-per-minute=1000000 -Drate-limit.max-requests-per-day=1000000 \
+       > /dev/null 2>&1 &
+  pid=$!
+
+  while ! curl -fs -o /dev/null -H 'Content-Type: application/json' -d "$BODY" "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$mode: process exited before serving a request" >&2
+      return 1
+    fi
+    if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+      echo "$mode: no successful request within ${TIMEOUT_SECONDS}s" >&2
+      kill "$pid"; wait "$pid" 2>/dev/null || true
+      return 1
+    fi
+    sleep 0.05
+  done
+
+  elapsed=$(( $(now_ms) - start ))
+  rss="$(rss_kb "$pid")"
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  printf '%s\t%d\t%d\n' "$mode" "$elapsed" "$rss"
+}
+
+bench() {
+  local mode="$1"; shift
+  for _ in $(seq "$RUNS"); do
+    run_once "$mode" "$@"
+  done
+}
+
+APP_JAR="$(prepare_cds)"
+
+printf 'mode\tfirst_request_ms\trss_kb\n'
+{
+  bench default    -jar "$JAR"
+  bench fast-start -Dspring.profiles.active=fast-start -jar "$JAR"
+  bench aot-cds    -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true \
+                   -Dspring.profiles.active=fast-start -jar "$APP_JAR"
+} | tee "$WORK/results.tsv"
+
+echo
+awk -F '\t' '{ n[$1]++; t[$1] += $2; r[$1] += $3 }
+  END { for (m in n) printf "%-10s avg %6.0f ms  avg %8.0f kB RSS  (%d runs)\n", m, t[m]/n[m], r[m]/n[m], n[m] }' \
+  "$WORK/results.tsv"
@@ -21,7 +21,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 "X-RateLimit-Minute-Reset",
                 "X-RateLimit-Day-Limit",
                 "X-RateLimit-Day-Remaining",
-                "X-RateLimit-Day-Reset"
+                "X-RateLimit-Day-Reset",
+                "Server-Timing"
             );
     }
 }
@@ -0,0 +1,30 @@
+package com.yourname.aiprep.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.llm.LlmClient;
+import com.yourname.aiprep.llm.LlmPoolClient;
+import com.yourname.aiprep.llm.StubLlmClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableConfigurationProperties(LlmProperties.class)
+public class LlmConfig {
+
+    @Bean
+    public LlmClient llmClient(
+        LlmProperties properties,
+        @Qualifier("groqRestClient") RestClient restClient,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        if (properties.stub()) {
+            return new StubLlmClient();
+        }
+        return new LlmPoolClient(restClient, objectMapper, properties, meterRegistry);
+    }
+}
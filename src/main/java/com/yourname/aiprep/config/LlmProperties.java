@@ -0,0 +1,37 @@
+package com.yourname.aiprep.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Pool of OpenAI-compatible endpoints used for all completions.
+ *
+ * Members with the lowest priority value take traffic; higher values are only
+ * used while every member before them is saturated or cooling down after a
+ * quota or upstream failure. Members marked {@code background} are reserved for
+ * background requests such as ideal-answer prefetch.
+ */
+@ConfigurationProperties(prefix = "llm")
+public record LlmProperties(
+    List<Member> members,
+    @DefaultValue("30s") Duration cooldown,
+    @DefaultValue("2s") Duration acquireTimeout,
+    @DefaultValue("false") boolean stub
+) {
+
+    public LlmProperties {
+        members = members == null ? List.of() : List.copyOf(members);
+    }
+
+    public record Member(
+        String name,
+        String url,
+        String apiKey,
+        String model,
+        @DefaultValue("0") int priority,
+        @DefaultValue("16") int maxConcurrency,
+        @DefaultValue("false") boolean background
+    ) {}
+}
@@ -1,18 +1,37 @@
 package com.yourname.aiprep.controller;
 
 import com.yourname.aiprep.model.GenerateMockInterviewRequest;
+import com.yourname.aiprep.model.InterviewJobResponse;
 import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.model.ReviewAndIdealResponse;
 import com.yourname.aiprep.model.ReviewAnswerRequest;
 import com.yourname.aiprep.model.ReviewAnswerResponse;
 import com.yourname.aiprep.service.GroqService;
+import com.yourname.aiprep.service.IdealAnswerService;
+import com.yourname.aiprep.service.InterviewJobService;
+import com.yourname.aiprep.service.InterviewJobService.JobEvent;
+import com.yourname.aiprep.timing.RequestTimings;
+import com.yourname.aiprep.validation.RequestValidator;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -21,62 +40,190 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequestMapping("/api")
 public class MockInterviewController {
 
+    private static final Duration JOB_EVENTS_BLOCK = Duration.ofSeconds(15);
+
     private final GroqService groqService;
+    private final InterviewJobService jobService;
+    private final IdealAnswerService idealAnswerService;
+    private final RequestValidator requestValidator;
     private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ThreadPoolExecutor jobEventsExecutor;
 
-    public MockInterviewController(GroqService groqService) {
+    public MockInterviewController(
+        GroqService groqService,
+        InterviewJobService jobService,
+        IdealAnswerService idealAnswerService,
+        RequestValidator requestValidator,
+        @Value("${interview-jobs.events.max-subscribers:64}") int maxJobSubscribers
+    ) {
         this.groqService = groqService;
+        this.jobService = jobService;
+        this.idealAnswerService = idealAnswerService;
+        this.requestValidator = requestValidator;
+        // Each subscriber holds a reader thread and a pooled Redis connection,
+        // so extra subscribers are turned away instead of queued.
+        this.jobEventsExecutor = new ThreadPoolExecutor(
+            maxJobSubscribers, maxJobSubscribers, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "job-events");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.jobEventsExecutor.allowCoreThreadTimeOut(true);
     }
 
     @PostMapping(path = "/mock-interview/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter streamMockInterview(@RequestBody GenerateMockInterviewRequest request) {
-        if (request == null || request.prompt() == null || request.prompt().isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "prompt is required");
-        }
+        String prompt = requestValidator.validateJobDescription(request == null ? null : request.prompt());
 
         SseEmitter emitter = new SseEmitter(0L);
+        RequestTimings timings = RequestTimings.current();
 
-        executor.submit(() -> {
+        executor.submit(timings.wrap(() -> {
             try {
                 MockInterviewSession session = groqService.generateMockInterviewSessionWithProgress(
-                    request.prompt().trim(),
+                    prompt,
                     message -> sendEvent(emitter, "progress", message)
                 );
                 sendEvent(emitter, "result", session);
+                sendEvent(emitter, "timing", timings.toMap());
                 emitter.complete();
+                idealAnswerService.prefetch(session);
             } catch (Exception ex) {
                 try {
                     sendEvent(emitter, "error", ex.getMessage());
+                    sendEvent(emitter, "timing", timings.toMap());
                 } finally {
                     emitter.completeWithError(ex);
                 }
             }
-        });
+        }));
 
         return emitter;
     }
 
+    @PostMapping("/mock-interview/jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public InterviewJobResponse submitMockInterviewJob(@RequestBody GenerateMockInterviewRequest request) {
+        String prompt = requestValidator.validateJobDescription(request == null ? null : request.prompt());
+        return new InterviewJobResponse(jobService.submit(prompt));
+    }
+
+    @GetMapping(path = "/mock-interview/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMockInterviewJob(
+        @PathVariable String jobId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        if (!jobService.exists(jobId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "job not found");
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onError(ex -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+
+        Runnable reader = () -> {
+            String cursor = lastEventId == null || lastEventId.isBlank() ? "0-0" : lastEventId.trim();
+            try {
+                while (!closed.get()) {
+                    List<JobEvent> events = jobService.readEvents(jobId, cursor, JOB_EVENTS_BLOCK);
+                    if (events.isEmpty()) {
+                        if (!jobService.exists(jobId)) {
+                            sendEvent(emitter, "error", "job expired");
+                            emitter.complete();
+                            return;
+                        }
+                        // Surfaces a disconnected client as an IOException instead of
+                        // polling until the job finishes or expires.
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                        continue;
+                    }
+                    for (JobEvent event : events) {
+                        emitter.send(toSse(event));
+                        cursor = event.id();
+                        if (event.terminal()) {
+                            emitter.complete();
+                            return;
+                        }
+                    }
+                }
+            } catch (Exception ex) {
+                emitter.completeWithError(ex);
+            }
+        };
+
+        try {
+            jobEventsExecutor.execute(reader);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many job subscribers");
+        }
+        return emitter;
+    }
+
     @PostMapping("/mock-interview/review")
     public ReviewAnswerResponse review(@RequestBody ReviewAnswerRequest request) {
-        if (request == null || request.answer() == null || request.answer().isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "answer is required");
+        ReviewAnswerRequest validated;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("validate")) {
+            validated = requestValidator.validateReview(request);
         }
-        if (request.question() == null || request.question().isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "question is required");
+        return groqService.reviewMockAnswer(validated);
+    }
+
+    @PostMapping(path = "/mock-interview/review-ideal", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter reviewAndIdeal(@RequestBody ReviewAnswerRequest request) {
+        ReviewAnswerRequest validated;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("validate")) {
+            validated = requestValidator.validateReview(request);
         }
 
-        return groqService.reviewMockAnswer(request);
+        SseEmitter emitter = new SseEmitter(0L);
+        RequestTimings timings = RequestTimings.current();
+
+        executor.submit(timings.wrap(() -> {
+            try {
+                ReviewAndIdealResponse response = groqService.reviewAndIdealAnswer(
+                    validated,
+                    review -> sendEvent(emitter, "review", review)
+                );
+                sendEvent(emitter, "ideal", response.ideal());
+                sendEvent(emitter, "timing", timings.toMap());
+                emitter.complete();
+                idealAnswerService.remember(validated, response.ideal());
+            } catch (Exception ex) {
+                try {
+                    sendEvent(emitter, "error", ex.getMessage());
+                    sendEvent(emitter, "timing", timings.toMap());
+                } finally {
+                    emitter.completeWithError(ex);
+                }
+            }
+        }));
+
+        return emitter;
     }
 
     @PostMapping("/mock-interview/ideal")
     public com.yourname.aiprep.model.IdealAnswerResponse ideal(
         @RequestBody ReviewAnswerRequest request
     ) {
-        if (request == null || request.question() == null || request.question().isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "question is required");
+        ReviewAnswerRequest validated;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("validate")) {
+            validated = requestValidator.validateAndSanitize(request);
         }
+        return idealAnswerService.getIdealAnswer(validated);
+    }
 
-        return groqService.generateIdealAnswer(request);
+    private SseEmitter.SseEventBuilder toSse(JobEvent event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().id(event.id()).name(event.event());
+        // Results are stored as serialized JSON; write them through unchanged.
+        return InterviewJobService.EVENT_RESULT.equals(event.event())
+            ? builder.data(event.data(), MediaType.APPLICATION_JSON)
+            : builder.data(event.data());
     }
 
     private void sendEvent(SseEmitter emitter, String name, Object data) {
@@ -0,0 +1,14 @@
+package com.yourname.aiprep.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a request body that exceeds its route's byte limit.
+ * Extends IOException so it can surface from a capped servlet input stream.
+ */
+public class PayloadTooLargeException extends IOException {
+
+    public PayloadTooLargeException(long limitBytes) {
+        super("Request body exceeds maximum size of " + limitBytes + " bytes.");
+    }
+}
@@ -0,0 +1,180 @@
+package com.yourname.aiprep.filter;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the client address of a request into a short, canonical rate-limit key.
+ *
+ * The client is the right-most hop that is not a trusted proxy: the peer address
+ * is trusted if it falls in {@code rate-limit.trusted-proxies} (CIDR list) or is one
+ * of the last {@code rate-limit.trusted-proxy-count} hops, and X-Forwarded-For is
+ * walked right to left past trusted hops only. With neither setting the header is
+ * ignored. Anything that is not an IP literal falls back to the peer address, so
+ * clients cannot mint keys through the header.
+ *
+ * Addresses are masked to {@code rate-limit.ipv4-prefix} / {@code rate-limit.ipv6-prefix}
+ * bits, so every address in a customer allocation (typically an IPv6 /64) shares one
+ * counter. The key is a family tag followed by the hex of the masked prefix bytes,
+ * e.g. {@code 4c0a80001} or {@code 620010db800000000}. IPv4-mapped IPv6 addresses are
+ * treated as IPv4, and spelling variants of the same address give the same key.
+ */
+@Component
+public class ClientKeyResolver {
+
+    static final String UNKNOWN = "unknown";
+
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final int ipv4Prefix;
+    private final int ipv6Prefix;
+    private final int trustedProxyCount;
+    private final List<Cidr> trustedProxies;
+
+    public ClientKeyResolver(
+        @Value("${rate-limit.ipv4-prefix:32}") int ipv4Prefix,
+        @Value("${rate-limit.ipv6-prefix:64}") int ipv6Prefix,
+        @Value("${rate-limit.trusted-proxy-count:0}") int trustedProxyCount,
+        @Value("${rate-limit.trusted-proxies:}") List<String> trustedProxies
+    ) {
+        if (ipv4Prefix < 1 || ipv4Prefix > 32) {
+            throw new IllegalArgumentException("rate-limit.ipv4-prefix must be between 1 and 32");
+        }
+        if (ipv6Prefix < 1 || ipv6Prefix > 128) {
+            throw new IllegalArgumentException("rate-limit.ipv6-prefix must be between 1 and 128");
+        }
+        if (trustedProxyCount < 0) {
+            throw new IllegalArgumentException("rate-limit.trusted-proxy-count must not be negative");
+        }
+        this.ipv4Prefix = ipv4Prefix;
+        this.ipv6Prefix = ipv6Prefix;
+        this.trustedProxyCount = trustedProxyCount;
+        this.trustedProxies = trustedProxies.stream()
+            .filter(value -> !value.isBlank())
+            .map(Cidr::parse)
+            .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        InetAddress peer = parse(request.getRemoteAddr());
+        InetAddress client = clientAddress(peer, request.getHeader("X-Forwarded-For"));
+        return client == null ? UNKNOWN : key(client);
+    }
+
+    /** Canonical key for an address literal, or {@code null} if it is not one. */
+    public String normalize(String address) {
+        InetAddress parsed = parse(address);
+        return parsed == null ? null : key(parsed);
+    }
+
+    // -------------------------------------------------------------------------
+
+    /** Right-most untrusted hop of {@code forwarded..., peer}; the peer if any hop is not an IP. */
+    InetAddress clientAddress(InetAddress peer, String forwarded) {
+        if (peer == null || !isTrusted(peer, 0) || forwarded == null || forwarded.isBlank()) {
+            return peer;
+        }
+
+        List<String> hops = new ArrayList<>(Arrays.asList(forwarded.split(",")));
+        InetAddress client = peer;
+        for (int depth = 1; !hops.isEmpty(); depth++) {
+            InetAddress hop = parse(hops.remove(hops.size() - 1));
+            if (hop == null) return peer;
+            client = hop;
+            if (!isTrusted(hop, depth)) return hop;
+        }
+        // Every hop was a proxy; the left-most one is the best we know.
+        return client;
+    }
+
+    private boolean isTrusted(InetAddress hop, int depth) {
+        if (depth < trustedProxyCount) return true;
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(hop)) return true;
+        }
+        return false;
+    }
+
+    private String key(InetAddress address) {
+        boolean v4 = address instanceof Inet4Address;
+        int prefix = v4 ? ipv4Prefix : ipv6Prefix;
+        return (v4 ? "4" : "6") + HexFormat.of().formatHex(mask(address.getAddress(), prefix));
+    }
+
+    /** Parses an address literal, tolerating ports, brackets and zone ids. Never resolves names. */
+    static InetAddress parse(String address) {
+        if (address == null || address.isBlank()) return null;
+
+        String candidate = address.strip();
+        if (candidate.startsWith("[")) {
+            // "[2001:db8::1]:443" or "[2001:db8::1]"
+            int end = candidate.indexOf(']');
+            if (end < 0) return null;
+            candidate = candidate.substring(1, end);
+        } else if (candidate.indexOf(':') > 0 && candidate.indexOf(':') == candidate.lastIndexOf(':')) {
+            // "203.0.113.7:51234"
+            candidate = candidate.substring(0, candidate.indexOf(':'));
+        }
+        int zone = candidate.indexOf('%');
+        if (zone > 0) candidate = candidate.substring(0, zone);
+
+        // Only literals reach InetAddress, so this never triggers a DNS lookup.
+        boolean literal = IPV4_LITERAL.matcher(candidate).matches()
+            || (candidate.indexOf(':') >= 0 && IPV6_LITERAL.matcher(candidate).matches());
+        if (!literal) return null;
+
+        try {
+            return InetAddress.getByName(candidate);
+        } catch (UnknownHostException ex) {
+            return null;
+        }
+    }
+
+    /** Keeps the first {@code prefix} bits, dropping whole trailing bytes to keep the key short. */
+    private static byte[] mask(byte[] address, int prefix) {
+        int length = (prefix + 7) / 8;
+        byte[] masked = new byte[length];
+        System.arraycopy(address, 0, masked, 0, length);
+        int spareBits = length * 8 - prefix;
+        if (spareBits > 0) {
+            masked[length - 1] &= (byte) (0xFF << spareBits);
+        }
+        return masked;
+    }
+
+    private record Cidr(byte[] network, int prefix) {
+
+        static Cidr parse(String value) {
+            String[] parts = value.strip().split("/", 2);
+            InetAddress address = ClientKeyResolver.parse(parts[0]);
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid rate-limit.trusted-proxies entry: " + value);
+            }
+            int bits = address.getAddress().length * 8;
+            int prefix = parts.length == 2 ? Integer.parseInt(parts[1].strip()) : bits;
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("Invalid rate-limit.trusted-proxies prefix: " + value);
+            }
+            return new Cidr(address.getAddress(), prefix);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) return false;
+            if (prefix == 0) return true;
+            return Arrays.equals(mask(bytes, prefix), mask(network, prefix));
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.yourname.aiprep.filter;
 
 import java.io.IOException;
 
+import com.yourname.aiprep.service.RateLimitDenyList;
 import com.yourname.aiprep.service.RateLimiterService;
 import com.yourname.aiprep.service.RateLimiterService.RateLimitStatus;
+import com.yourname.aiprep.timing.RequestTimings;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,9 +22,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final RateLimiterService rateLimiterService;
+    private final RateLimitDenyList denyList;
+    private final ClientKeyResolver clientKeyResolver;
 
-    public RateLimitFilter(RateLimiterService rateLimiterService) {
+    public RateLimitFilter(
+        RateLimiterService rateLimiterService,
+        RateLimitDenyList denyList,
+        ClientKeyResolver clientKeyResolver
+    ) {
         this.rateLimiterService = rateLimiterService;
+        this.denyList = denyList;
+        this.clientKeyResolver = clientKeyResolver;
     }
 
     @Override
@@ -31,9 +41,33 @@ public class RateLimitFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        String ip = getClientIp(request);
+        String clientKey = clientKeyResolver.resolve(request);
 
-        RateLimitStatus status = rateLimiterService.consume(ip);
+        // Clients already over their limit are rejected without touching Redis.
+        RateLimitStatus denied = denyList.lookup(clientKey);
+        if (denied != null) {
+            RequestTimings.current().attribute("rate_limit", "denied_local");
+            writeHeaders(response, denied);
+            reject(response);
+            return;
+        }
+
+        RateLimitStatus status;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("rate_limit")) {
+            status = rateLimiterService.consume(clientKey);
+        }
+        writeHeaders(response, status);
+
+        if (!status.allowed()) {
+            denyList.deny(clientKey, status);
+            reject(response);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void writeHeaders(HttpServletResponse response, RateLimitStatus status) {
         response.setHeader("X-RateLimit-Limit", String.valueOf(status.limit()));
         response.setHeader("X-RateLimit-Remaining", String.valueOf(status.remaining()));
         response.setHeader("X-RateLimit-Reset", String.valueOf(status.resetSeconds()));
@@ -43,25 +77,13 @@ public class RateLimitFilter extends OncePerRequestFilter {
         response.setHeader("X-RateLimit-Day-Limit", String.valueOf(status.day().limit()));
         response.setHeader("X-RateLimit-Day-Remaining", String.valueOf(status.day().remaining()));
         response.setHeader("X-RateLimit-Day-Reset", String.valueOf(status.day().resetSeconds()));
-
-        if (!status.allowed()) {
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setContentType("application/json");
-            response.getWriter().write("""
-                {"error": "Too many requests. Please slow down."}
-            """);
-            return;
-        }
-
-        filterChain.doFilter(request, response);
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        // Handles proxies / load balancers
-        String forwarded = request.getHeader("X-Forwarded-For");
-        if (forwarded != null && !forwarded.isEmpty()) {
-            return forwarded.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType("application/json");
+        response.getWriter().write("""
+            {"error": "Too many requests. Please slow down."}
+        """);
     }
 }
@@ -0,0 +1,140 @@
+package com.yourname.aiprep.filter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.yourname.aiprep.exception.PayloadTooLargeException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects request bodies over a per-route byte limit before they are buffered.
+ *
+ * A declared Content-Length over the limit is refused up front. Otherwise the
+ * body stream is capped, so chunked uploads fail as soon as they cross it.
+ */
+@Component
+@Order(2) // After rate limiting, before any body is read
+public class RequestSizeFilter extends OncePerRequestFilter {
+
+    // Sized from RequestValidator's character limits, allowing for multi-byte
+    // UTF-8 and JSON escaping. The review and ideal routes share one body type.
+    private static final Map<String, Long> ROUTE_LIMITS = Map.of(
+        "/api/mock-interview/stream", 32_768L,
+        "/api/mock-interview/jobs", 32_768L,
+        "/api/mock-interview/review", 65_536L,
+        "/api/mock-interview/review-ideal", 65_536L,
+        "/api/mock-interview/ideal", 65_536L
+    );
+
+    @Value("${request-size.default-max-bytes:16384}")
+    private long defaultMaxBytes;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long limit = ROUTE_LIMITS.getOrDefault(request.getRequestURI(), defaultMaxBytes);
+
+        if (request.getContentLengthLong() > limit) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType("application/json");
+            response.getWriter().write("""
+                {"error": "Request body is too large."}
+            """);
+            return;
+        }
+
+        filterChain.doFilter(new CappedRequest(request, limit), response);
+    }
+
+    private static final class CappedRequest extends HttpServletRequestWrapper {
+
+        private final long limit;
+        private ServletInputStream stream;
+
+        private CappedRequest(HttpServletRequest request, long limit) {
+            super(request);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new CappedInputStream(super.getInputStream(), limit);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static final class CappedInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final long limit;
+        private long read;
+
+        private CappedInputStream(ServletInputStream delegate, long limit) {
+            this.delegate = delegate;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) throws PayloadTooLargeException {
+            read += n;
+            if (read > limit) throw new PayloadTooLargeException(limit);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
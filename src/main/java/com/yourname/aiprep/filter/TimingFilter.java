@@ -0,0 +1,77 @@
+package com.yourname.aiprep.filter;
+
+import java.io.IOException;
+
+import com.yourname.aiprep.timing.RequestTimings;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens the request's {@link RequestTimings} and writes one timing log line
+ * when the request finishes, including async SSE requests.
+ *
+ * JSON responses get their Server-Timing header from ServerTimingAdvice, just
+ * before the body is written. Responses written directly by filters, such as a
+ * 429 from RateLimitFilter, get it here if they are not yet committed.
+ */
+@Component
+@Order(0) // Wrap every other filter so their time is included
+public class TimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger("aiprep.timing");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.clear();
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+                response.setHeader(SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+            }
+
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logTiming(request, response, timings);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) { }
+
+                    @Override
+                    public void onError(AsyncEvent event) { }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) { }
+                });
+            } else {
+                logTiming(request, response, timings);
+            }
+        }
+    }
+
+    private void logTiming(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        log.info("request_timing method={} path={} status={} {}",
+            request.getMethod(), request.getRequestURI(), response.getStatus(), timings.toLogFields());
+    }
+}
@@ -0,0 +1,12 @@
+package com.yourname.aiprep.llm;
+
+/**
+ * Assistant message content plus the pool member and model that produced it,
+ * and how many members were tried to get it.
+ */
+public record ChatCompletion(
+    String content,
+    String member,
+    String model,
+    int attempts
+) {}
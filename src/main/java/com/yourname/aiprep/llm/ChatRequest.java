@@ -0,0 +1,20 @@
+package com.yourname.aiprep.llm;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A chat completion request. Background requests (e.g. prefetch) are routed so
+ * they never wait on or cool down members serving interactive traffic.
+ */
+public record ChatRequest(
+    List<Map<String, String>> messages,
+    double temperature,
+    Integer maxTokens,
+    boolean background
+) {
+
+    public ChatRequest(List<Map<String, String>> messages, double temperature, Integer maxTokens) {
+        this(messages, temperature, maxTokens, false);
+    }
+}
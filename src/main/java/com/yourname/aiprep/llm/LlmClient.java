@@ -0,0 +1,22 @@
+package com.yourname.aiprep.llm;
+
+import java.util.function.Consumer;
+
+/**
+ * Sends a chat completion to an OpenAI-compatible backend and returns the
+ * assistant message. Implementations decide which endpoint, key and model serve it.
+ */
+public interface LlmClient {
+
+    ChatCompletion chat(ChatRequest request);
+
+    /**
+     * Like {@link #chat}, but hands content to {@code onDelta} as it arrives.
+     * The default delivers the whole message as a single delta.
+     */
+    default ChatCompletion chatStream(ChatRequest request, Consumer<String> onDelta) {
+        ChatCompletion completion = chat(request);
+        onDelta.accept(completion.content());
+        return completion;
+    }
+}
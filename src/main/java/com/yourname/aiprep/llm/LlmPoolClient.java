@@ -0,0 +1,361 @@
+package com.yourname.aiprep.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.config.LlmProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Balances completions across a pool of OpenAI-compatible endpoints, keys and models.
+ *
+ * Within the active priority tier, requests go to the healthy member with the
+ * lowest EWMA latency weighted by its outstanding requests. Each member has its
+ * own concurrency limit; when a tier is saturated, requests spill over to the
+ * next tier with a free permit before waiting on the lowest one. Quota errors, 5xx responses and I/O failures put a
+ * member into cooldown and the request is retried on the next best member.
+ * If every remaining member is cooling down, the one whose cooldown ends first
+ * is tried anyway, and a success ends its cooldown, so a single-member pool
+ * degrades to plain retries instead of failing fast.
+ * A streamed request is only retried if no content has been delivered yet.
+ *
+ * Background requests use the members marked {@code background} (or any member
+ * if none are), never wait for a permit or probe a cooling member, and never put
+ * a member into cooldown, so they cannot take capacity from interactive calls.
+ * Interactive requests never use background members.
+ */
+public class LlmPoolClient implements LlmClient {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmPoolClient.class);
+
+    private static final double EWMA_ALPHA = 0.3;
+    private static final double UNMEASURED_LATENCY_MS = 1_000;
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<PoolMember> members;
+    private final long cooldownMillis;
+    private final long acquireTimeoutMillis;
+
+    public LlmPoolClient(
+        RestClient restClient,
+        ObjectMapper objectMapper,
+        LlmProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        if (properties.members().stream().allMatch(LlmProperties.Member::background)) {
+            throw new IllegalStateException("llm.members must define at least one non-background endpoint");
+        }
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.cooldownMillis = properties.cooldown().toMillis();
+        this.acquireTimeoutMillis = properties.acquireTimeout().toMillis();
+        this.members = properties.members().stream().map(PoolMember::new).toList();
+        this.members.forEach(member ->
+            meterRegistry.gauge("aiprep.llm.in_flight", Tags.of("member", member.config.name()), member.inFlight));
+    }
+
+    @Override
+    public ChatCompletion chat(ChatRequest request) {
+        return execute(request.background(), member -> extractContent(post(member, request)));
+    }
+
+    @Override
+    public ChatCompletion chatStream(ChatRequest request, Consumer<String> onDelta) {
+        return execute(request.background(), member -> postStreaming(member, request, onDelta));
+    }
+
+    private ChatCompletion execute(boolean background, Function<PoolMember, String> call) {
+        List<PoolMember> tried = new ArrayList<>();
+        RuntimeException lastError = null;
+
+        while (tried.size() < members.size()) {
+            PoolMember member = background ? acquireBackground(tried) : acquire(tried);
+            if (member == null) break;
+            tried.add(member);
+
+            long start = System.nanoTime();
+            try {
+                String content = call.apply(member);
+                member.recordLatency(System.nanoTime() - start);
+                member.recover();
+                record(member, "success", start);
+                return new ChatCompletion(content, member.config.name(), member.config.model(), tried.size());
+            } catch (RestClientResponseException e) {
+                if (!isRetryable(e)) {
+                    record(member, "error", start);
+                    throw e;
+                }
+                log.warn("LLM member {} failed with status {}{}",
+                    member.config.name(), e.getStatusCode().value(), background ? "" : ", cooling down");
+                if (!background) member.coolDown(cooldownMillis);
+                record(member, isQuotaError(e) ? "quota" : "unavailable", start);
+                lastError = e;
+            } catch (ResourceAccessException e) {
+                log.warn("LLM member {} unreachable: {}", member.config.name(), e.getMessage());
+                if (!background) member.coolDown(cooldownMillis);
+                record(member, "unavailable", start);
+                lastError = e;
+            } finally {
+                member.release();
+            }
+        }
+
+        if (lastError != null) throw lastError;
+        throw new IllegalStateException("No LLM capacity available");
+    }
+
+    // -------------------------------------------------------------------------
+    // Member selection
+    // -------------------------------------------------------------------------
+
+    /**
+     * Picks the best healthy, untried member with a free permit, preferring
+     * lower priority tiers. If every candidate is saturated, waits on the best
+     * member of the lowest tier. With no healthy member left, probes the untried
+     * one that recovers first.
+     */
+    private PoolMember acquire(List<PoolMember> tried) {
+        long now = System.currentTimeMillis();
+        List<PoolMember> candidates = members.stream()
+            .filter(member -> !member.config.background())
+            .filter(member -> !tried.contains(member) && member.healthy(now))
+            .toList();
+        if (candidates.isEmpty()) {
+            candidates = members.stream()
+                .filter(member -> !member.config.background())
+                .filter(member -> !tried.contains(member))
+                .min(Comparator.comparingLong(member -> member.coolDownUntil))
+                .map(List::of)
+                .orElse(List.of());
+            if (candidates.isEmpty()) return null;
+            log.debug("All LLM members cooling down, probing {}", candidates.get(0).config.name());
+        }
+
+        List<PoolMember> ranked = candidates.stream()
+            .sorted(Comparator.comparingInt((PoolMember member) -> member.config.priority())
+                .thenComparingDouble(PoolMember::score))
+            .toList();
+
+        for (PoolMember member : ranked) {
+            if (member.tryAcquire()) return member;
+        }
+
+        PoolMember best = ranked.get(0);
+        try {
+            if (best.acquire(acquireTimeoutMillis)) return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /** Best healthy member with a free permit for a background request, or null. */
+    private PoolMember acquireBackground(List<PoolMember> tried) {
+        long now = System.currentTimeMillis();
+        boolean reserved = members.stream().anyMatch(member -> member.config.background());
+        List<PoolMember> ranked = members.stream()
+            .filter(member -> !reserved || member.config.background())
+            .filter(member -> !tried.contains(member) && member.healthy(now))
+            .sorted(Comparator.comparingInt((PoolMember member) -> member.config.priority())
+                .thenComparingDouble(PoolMember::score))
+            .toList();
+
+        for (PoolMember member : ranked) {
+            if (member.tryAcquire()) return member;
+        }
+        return null;
+    }
+
+    // -------------------------------------------------------------------------
+    // HTTP
+    // -------------------------------------------------------------------------
+
+    private Map<?, ?> post(PoolMember member, ChatRequest request) {
+        var body = new HashMap<String, Object>();
+        body.put("model", member.config.model());
+        body.put("messages", request.messages());
+        body.put("temperature", request.temperature());
+        if (request.maxTokens() != null) {
+            body.put("max_tokens", request.maxTokens());
+        }
+
+        return restClient.post()
+            .uri(member.config.url())
+            .header("Authorization", "Bearer " + member.config.apiKey())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body)
+            .retrieve()
+            .body(Map.class);
+    }
+
+    /**
+     * Posts with {@code stream: true} and forwards each content delta. Failures
+     * after the first delta are not retryable, since the caller has already
+     * seen partial output.
+     */
+    private String postStreaming(PoolMember member, ChatRequest request, Consumer<String> onDelta) {
+        var body = new HashMap<String, Object>();
+        body.put("model", member.config.model());
+        body.put("messages", request.messages());
+        body.put("temperature", request.temperature());
+        body.put("stream", true);
+        if (request.maxTokens() != null) {
+            body.put("max_tokens", request.maxTokens());
+        }
+
+        return restClient.post()
+            .uri(member.config.url())
+            .header("Authorization", "Bearer " + member.config.apiKey())
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .body(body)
+            .exchange((req, resp) -> {
+                if (resp.getStatusCode().isError()) {
+                    throw new RestClientResponseException(
+                        "LLM stream request failed", resp.getStatusCode(), resp.getStatusText(),
+                        resp.getHeaders(), resp.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                }
+
+                StringBuilder content = new StringBuilder();
+                try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resp.getBody(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.startsWith("data:")) continue;
+                        String data = line.substring(5).trim();
+                        if (data.equals("[DONE]")) break;
+
+                        JsonNode delta = objectMapper.readTree(data).path("choices").path(0).path("delta");
+                        String text = delta.path("content").asText("");
+                        if (!text.isEmpty()) {
+                            content.append(text);
+                            onDelta.accept(text);
+                        }
+                    }
+                } catch (IOException e) {
+                    if (!content.isEmpty()) {
+                        throw new IllegalStateException("LLM stream interrupted", e);
+                    }
+                    throw e;
+                }
+                return content.toString();
+            });
+    }
+
+    private boolean isRetryable(RestClientResponseException e) {
+        return isQuotaError(e) || e.getStatusCode().is5xxServerError();
+    }
+
+    private boolean isQuotaError(RestClientResponseException e) {
+        int status = e.getStatusCode().value();
+        if (status == 429 || status == 402) return true;
+        String body = e.getResponseBodyAsString();
+        if (body == null) return false;
+        String lower = body.toLowerCase();
+        return lower.contains("rate_limit_exceeded")
+            || lower.contains("insufficient_quota")
+            || lower.contains("quota_exceeded");
+    }
+
+    private String extractContent(Map<?, ?> response) {
+        if (response == null) throw new IllegalStateException("Empty LLM response");
+
+        if (!(response.get("choices") instanceof List<?> choices) || choices.isEmpty())
+            throw new IllegalStateException("LLM response missing choices");
+
+        if (!(choices.get(0) instanceof Map<?, ?> choice))
+            throw new IllegalStateException("LLM choice is not an object");
+
+        if (!(choice.get("message") instanceof Map<?, ?> message))
+            throw new IllegalStateException("LLM response missing message");
+
+        if (!(message.get("content") instanceof String content))
+            throw new IllegalStateException("LLM response content is not a string");
+
+        return content;
+    }
+
+    private void record(PoolMember member, String outcome, long startNanos) {
+        meterRegistry.timer("aiprep.llm.request", "member", member.config.name(), "outcome", outcome)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // -------------------------------------------------------------------------
+
+    private static final class PoolMember {
+        private final LlmProperties.Member config;
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double ewmaLatencyMs = -1;
+        private volatile long coolDownUntil;
+
+        private PoolMember(LlmProperties.Member config) {
+            this.config = config;
+            this.permits = new Semaphore(Math.max(1, config.maxConcurrency()));
+        }
+
+        private boolean healthy(long now) {
+            return coolDownUntil <= now;
+        }
+
+        /** Expected wait: smoothed latency scaled by the queue ahead of us. */
+        private double score() {
+            double latency = ewmaLatencyMs < 0 ? UNMEASURED_LATENCY_MS : ewmaLatencyMs;
+            return latency * (inFlight.get() + 1);
+        }
+
+        private boolean tryAcquire() {
+            if (!permits.tryAcquire()) return false;
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        private boolean acquire(long timeoutMillis) throws InterruptedException {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) return false;
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+
+        private void recordLatency(long nanos) {
+            double millis = nanos / 1_000_000.0;
+            double previous = ewmaLatencyMs;
+            ewmaLatencyMs = previous < 0 ? millis : EWMA_ALPHA * millis + (1 - EWMA_ALPHA) * previous;
+        }
+
+        private void coolDown(long millis) {
+            coolDownUntil = System.currentTimeMillis() + millis;
+        }
+
+        private void recover() {
+            if (coolDownUntil != 0) coolDownUntil = 0;
+        }
+    }
+}
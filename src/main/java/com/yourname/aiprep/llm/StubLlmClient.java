@@ -0,0 +1,58 @@
+package com.yourname.aiprep.llm;
+
+/**
+ * Offline LLM client returning canned JSON for each prompt type. Enable with
+ * {@code llm.stub=true} for local development and tests that must not reach
+ * a real provider.
+ */
+public class StubLlmClient implements LlmClient {
+
+    private static final String INTERVIEW = """
+        {"jobTitle": "Software Engineer", "questions": [
+          "How would you design a rate limiter for a public API?",
+          "Explain the trade-offs between SQL and NoSQL storage for this role.",
+          "How do you diagnose a slow endpoint in production?",
+          "Describe how you would structure tests for a service with external dependencies.",
+          "How does connection pooling affect throughput and latency?",
+          "Tell me about a time you disagreed with a technical decision.",
+          "How do you prioritize tech debt against feature work?",
+          "Describe a production incident you owned end to end."
+        ]}
+        """;
+
+    private static final String REVIEW = """
+        {"summary": "Stub review.", "strengths": ["Clear structure"],
+         "improvements": ["Add a concrete example"], "score": "7"}
+        """;
+
+    private static final String REVIEW_AND_IDEAL = """
+        {"summary": "Stub review.", "strengths": ["Clear structure"],
+         "improvements": ["Add a concrete example"], "score": "7",
+         "idealAnswer": "Stub ideal answer."}
+        """;
+
+    private static final String IDEAL = """
+        {"answer": "Stub ideal answer."}
+        """;
+
+    @Override
+    public ChatCompletion chat(ChatRequest request) {
+        String system = request.messages().stream()
+            .filter(message -> "system".equals(message.get("role")))
+            .map(message -> message.getOrDefault("content", ""))
+            .findFirst()
+            .orElse("");
+
+        String content;
+        if (system.contains("\"questions\"")) {
+            content = INTERVIEW;
+        } else if (system.contains("\"idealAnswer\"")) {
+            content = REVIEW_AND_IDEAL;
+        } else if (system.contains("\"strengths\"")) {
+            content = REVIEW;
+        } else {
+            content = IDEAL;
+        }
+        return new ChatCompletion(content, "stub", "stub", 1);
+    }
+}
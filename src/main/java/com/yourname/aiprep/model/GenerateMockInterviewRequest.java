@@ -1,3 +1,8 @@
 package com.yourname.aiprep.model;
 
-public record GenerateMockInterviewRequest(String prompt) {}
+import com.yourname.aiprep.validation.MaxChars;
+import com.yourname.aiprep.validation.RequestValidator;
+
+public record GenerateMockInterviewRequest(
+    @MaxChars(value = RequestValidator.MAX_JOB_DESC_CHARS, field = "Job description") String prompt
+) {}
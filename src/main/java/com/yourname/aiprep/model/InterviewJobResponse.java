@@ -0,0 +1,3 @@
+package com.yourname.aiprep.model;
+
+public record InterviewJobResponse(String jobId) {}
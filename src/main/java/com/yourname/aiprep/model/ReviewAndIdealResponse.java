@@ -0,0 +1,6 @@
+package com.yourname.aiprep.model;
+
+public record ReviewAndIdealResponse(
+    ReviewAnswerResponse review,
+    IdealAnswerResponse ideal
+) {}
@@ -1,7 +1,10 @@
 package com.yourname.aiprep.model;
 
+import com.yourname.aiprep.validation.MaxChars;
+import com.yourname.aiprep.validation.RequestValidator;
+
 public record ReviewAnswerRequest(
-    String question,
-    String answer,
-    String jobTitle
+    @MaxChars(value = RequestValidator.MAX_QUESTION_CHARS, field = "Question") String question,
+    @MaxChars(value = RequestValidator.MAX_ANSWER_CHARS, field = "Answer") String answer,
+    @MaxChars(value = RequestValidator.MAX_JOB_TITLE_CHARS, field = "Job title") String jobTitle
 ) {}
@@ -0,0 +1,107 @@
+package com.yourname.aiprep.repository;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * PostgreSQL storage for generated question sets and their MinHash signatures.
+ * The table is created on first use, so startup never needs a connection.
+ */
+@Repository
+public class QuestionBankRepository {
+
+    private static final String CREATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS question_bank (
+            id          BIGSERIAL PRIMARY KEY,
+            job_title   TEXT,
+            questions   TEXT        NOT NULL,
+            signature   BYTEA       NOT NULL,
+            created_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+        )
+        """;
+
+    private static final String CREATE_INDEX =
+        "CREATE INDEX IF NOT EXISTS question_bank_created_at ON question_bank (created_at, id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean schemaReady;
+
+    public QuestionBankRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long insert(String jobTitle, String questionsJson, int[] signature) {
+        ensureSchema();
+        Long id = jdbcTemplate.queryForObject(
+            "INSERT INTO question_bank (job_title, questions, signature) VALUES (?, ?, ?) RETURNING id",
+            Long.class,
+            jobTitle, questionsJson, toBytes(signature)
+        );
+        return id == null ? -1 : id;
+    }
+
+    /** One page of signatures ordered by {@code (created_at, id)}, starting after the given position. */
+    public List<SignatureRow> findSignaturesAfter(Instant createdAt, long afterId, int limit) {
+        ensureSchema();
+        return jdbcTemplate.query(
+            """
+            SELECT id, signature, created_at FROM question_bank
+            WHERE (created_at, id) > (?, ?)
+            ORDER BY created_at, id
+            LIMIT ?
+            """,
+            (rs, rowNum) -> new SignatureRow(
+                rs.getLong("id"),
+                fromBytes(rs.getBytes("signature")),
+                rs.getTimestamp("created_at").toInstant()
+            ),
+            Timestamp.from(createdAt), afterId, limit
+        );
+    }
+
+    /** Deletes entries created before {@code cutoff}; returns how many were removed. */
+    public int deleteOlderThan(Instant cutoff) {
+        ensureSchema();
+        return jdbcTemplate.update("DELETE FROM question_bank WHERE created_at < ?", Timestamp.from(cutoff));
+    }
+
+    public BankEntry findById(long id) {
+        ensureSchema();
+        List<BankEntry> rows = jdbcTemplate.query(
+            "SELECT id, job_title, questions FROM question_bank WHERE id = ?",
+            (rs, rowNum) -> new BankEntry(rs.getLong("id"), rs.getString("job_title"), rs.getString("questions")),
+            id
+        );
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) return;
+        synchronized (this) {
+            if (schemaReady) return;
+            jdbcTemplate.execute(CREATE_TABLE);
+            jdbcTemplate.execute(CREATE_INDEX);
+            schemaReady = true;
+        }
+    }
+
+    private static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    private static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    public record SignatureRow(long id, int[] signature, Instant createdAt) {}
+
+    public record BankEntry(long id, String jobTitle, String questionsJson) {}
+}
@@ -4,32 +4,41 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.llm.ChatCompletion;
+import com.yourname.aiprep.llm.ChatRequest;
+import com.yourname.aiprep.llm.LlmClient;
 import com.yourname.aiprep.model.IdealAnswerResponse;
 import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.model.ReviewAndIdealResponse;
 import com.yourname.aiprep.model.ReviewAnswerRequest;
 import com.yourname.aiprep.model.ReviewAnswerResponse;
+import com.yourname.aiprep.timing.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientResponseException;
 
 @Service
 public class GroqService {
 
     private static final Logger log = LoggerFactory.getLogger(GroqService.class);
 
-    private static final String PRIMARY_MODEL = "meta-llama/llama-4-scout-17b-16e-instruct";
-    private static final String FALLBACK_MODEL = "groq/compound";
     private static final int MAX_PROMPT_CHARS = 4000;
 
     // Retry ladder: each entry is (strictJson, compactLevel, maxTokens, progressMessage)
     private record RetryConfig(boolean strict, int compactLevel, int maxTokens, String progressMessage) {}
+
+    // A session plus whether it is complete enough to reuse from the question bank.
+    private record GeneratedSession(MockInterviewSession session, boolean complete) {}
+
     private static final List<RetryConfig> INTERVIEW_RETRY_LADDER = List.of(
         new RetryConfig(false, 0, 700, "Analyzing the role..."),
         new RetryConfig(true,  0, 650, "Retrying with stricter JSON..."),
@@ -37,18 +46,25 @@ public class GroqService {
         new RetryConfig(true,  2, 420, "Final retry with compact output...")
     );
 
-    @Value("${groq.api.key}")
-    private String apiKey;
-
-    @Value("${groq.api.url}")
-    private String apiUrl;
+    @Value("${groq.salvage.min-questions:5}")
+    private int salvageMinQuestions;
 
-    private final RestClient restClient;
+    private final LlmClient llmClient;
     private final ObjectMapper objectMapper;
-
-    public GroqService(ObjectMapper objectMapper) {
-        this.restClient = RestClient.create();
+    private final MeterRegistry meterRegistry;
+    private final QuestionBankService questionBank;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public GroqService(
+        LlmClient llmClient,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        QuestionBankService questionBank
+    ) {
+        this.llmClient = llmClient;
+        this.questionBank = questionBank;
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
 
     // -------------------------------------------------------------------------
@@ -66,6 +82,11 @@ public class GroqService {
         return generateWithRetry(userPrompt, progress);
     }
 
+    /** Number of upstream chat calls currently in progress on this node. */
+    public int inFlightRequests() {
+        return inFlight.get();
+    }
+
     public ReviewAnswerResponse reviewMockAnswer(ReviewAnswerRequest request) {
         String systemPrompt = """
             You are a technical interviewer. Review the candidate's answer and provide constructive feedback.
@@ -85,7 +106,7 @@ public class GroqService {
             nullSafe(request.answer())
         );
 
-        String json = callAndExtractJson(systemPrompt, userContent, 0.3, null);
+        String json = callAndExtractJson(systemPrompt, userContent, 0.3, null, false);
         try {
             return parseWithFallback(json, ReviewAnswerResponse.class);
         } catch (JsonProcessingException e) {
@@ -94,6 +115,14 @@ public class GroqService {
     }
 
     public IdealAnswerResponse generateIdealAnswer(ReviewAnswerRequest request) {
+        return generateIdealAnswer(request, false);
+    }
+
+    /**
+     * Generates an ideal answer; {@code background} calls (prefetch) are kept off
+     * the members and cooldown state that interactive requests depend on.
+     */
+    public IdealAnswerResponse generateIdealAnswer(ReviewAnswerRequest request, boolean background) {
         String systemPrompt = """
             You are a senior interviewer. Provide an ideal, concise answer to the question.
             Return ONLY valid JSON, no markdown, no explanation. Use this exact structure:
@@ -106,7 +135,7 @@ public class GroqService {
             nullSafe(request.question())
         );
 
-        String json = callAndExtractJson(systemPrompt, userContent, 0.2, 350);
+        String json = callAndExtractJson(systemPrompt, userContent, 0.2, 350, background);
         try {
             return parseIdealAnswer(json);
         } catch (JsonProcessingException e) {
@@ -114,22 +143,110 @@ public class GroqService {
         }
     }
 
+    /**
+     * Produces the review and the ideal answer from one streamed completion.
+     * The schema puts the review fields before "idealAnswer", so the review is
+     * handed to {@code onReview} as soon as the model starts the ideal answer.
+     */
+    public ReviewAndIdealResponse reviewAndIdealAnswer(
+        ReviewAnswerRequest request,
+        Consumer<ReviewAnswerResponse> onReview
+    ) {
+        String systemPrompt = """
+            You are a technical interviewer. Review the candidate's answer and provide constructive feedback,
+            then give an ideal, concise answer to the same question.
+            Return ONLY valid JSON, no markdown, no explanation. Use this exact structure, keys in this order:
+            {
+              "summary": "string",
+              "strengths": ["string", "string", "string"],
+              "improvements": ["string", "string", "string"],
+              "score": "string (0-10)",
+              "idealAnswer": "string"
+            }
+            Keep the summary to 2-4 sentences. Strengths and improvements should be concrete and actionable.
+            Keep the ideal answer under 180 words. Use clear, practical language.
+            """;
+
+        String userContent = "Role: %s%nQuestion: %s%nAnswer: %s".formatted(
+            nullSafe(request.jobTitle()),
+            nullSafe(request.question()),
+            nullSafe(request.answer())
+        );
+
+        List<Map<String, String>> messages = List.of(
+            Map.of("role", "system", "content", systemPrompt),
+            Map.of("role", "user", "content", userContent)
+        );
+
+        StringBuilder buffer = new StringBuilder();
+        boolean[] reviewSent = {false};
+        String content = chatStream(new ChatRequest(messages, 0.3, null), delta -> {
+            buffer.append(delta);
+            if (!reviewSent[0] && buffer.indexOf("\"idealAnswer\"") >= 0) {
+                ReviewAnswerResponse early = parseEarlyReview(buffer.toString());
+                if (early != null) {
+                    reviewSent[0] = true;
+                    onReview.accept(early);
+                }
+            }
+        });
+
+        String json = extractJsonObject(normalizeJson(content));
+        try {
+            JsonNode node;
+            try (RequestTimings.Span ignored = RequestTimings.current().start("parse")) {
+                node = readTreeWithFallback(json);
+            }
+            ReviewAnswerResponse review = objectMapper.treeToValue(node, ReviewAnswerResponse.class);
+            if (!reviewSent[0]) onReview.accept(review);
+            return new ReviewAndIdealResponse(review, new IdealAnswerResponse(coerceAnswer(node.get("idealAnswer"))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to parse review and ideal answer. Raw: " + summarize(json), e);
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Core retry logic
     // -------------------------------------------------------------------------
 
     private MockInterviewSession generateWithRetry(String userPrompt, Consumer<String> progress) {
         String safePrompt = truncate(userPrompt, MAX_PROMPT_CHARS);
+
+        Optional<MockInterviewSession> banked;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("question_bank")) {
+            banked = questionBank.find(safePrompt);
+        }
+        if (banked.isPresent()) {
+            RequestTimings.current().attribute("question_bank", "hit");
+            notify(progress, "Found questions for a similar role...");
+            return banked.get();
+        }
+
+        // Salvaged and compact sessions are fine for this caller but too short to reuse.
+        GeneratedSession generated = generateWithLadder(safePrompt, progress);
+        if (generated.complete()) {
+            questionBank.store(safePrompt, generated.session());
+        }
+        return generated.session();
+    }
+
+    private GeneratedSession generateWithLadder(String safePrompt, Consumer<String> progress) {
         IllegalStateException lastError = null;
 
-        for (RetryConfig config : INTERVIEW_RETRY_LADDER) {
+        for (int rung = 0; rung < INTERVIEW_RETRY_LADDER.size(); rung++) {
+            RetryConfig config = INTERVIEW_RETRY_LADDER.get(rung);
+            RequestTimings.current().attribute("rung", rung);
+            if (rung > 0) RequestTimings.current().increment("retries");
             notify(progress, config.progressMessage());
             try {
-                return requestMockInterviewSession(
+                GeneratedSession generated = requestMockInterviewSession(
                     buildInterviewPrompt(config.strict(), config.compactLevel()),
                     safePrompt,
                     config.maxTokens()
                 );
+                return config.compactLevel() == 0
+                    ? generated
+                    : new GeneratedSession(generated.session(), false);
             } catch (IllegalStateException e) {
                 log.warn("Interview generation attempt failed (strict={}, compact={}): {}",
                     config.strict(), config.compactLevel(), e.getMessage());
@@ -139,26 +256,80 @@ public class GroqService {
         throw lastError;
     }
 
-    private MockInterviewSession requestMockInterviewSession(
+    private GeneratedSession requestMockInterviewSession(
         String systemPrompt,
         String userPrompt,
         int maxTokens
     ) {
-        String json = callAndExtractJson(
+        String content = callAndNormalize(
             systemPrompt,
             "Job Description:\n" + userPrompt,
             0.4,
-            maxTokens
+            maxTokens,
+            false
         );
+        String json = extractJsonObject(content);
 
         try {
-            return parseWithFallback(json, MockInterviewSession.class);
+            return new GeneratedSession(parseWithFallback(json, MockInterviewSession.class), true);
         } catch (JsonProcessingException e) {
+            MockInterviewSession salvaged = salvageTruncatedSession(content);
+            if (salvaged != null) return new GeneratedSession(salvaged, false);
             throw new IllegalStateException(
                 "Failed to parse mock interview session. Raw: " + summarize(json), e);
         }
     }
 
+    /**
+     * Recovers the complete questions from a response that was cut off mid-array.
+     * Returns null when too few questions survive, so the caller escalates to the
+     * next rung of the retry ladder.
+     */
+    private MockInterviewSession salvageTruncatedSession(String content) {
+        String repaired;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("json_repair")) {
+            repaired = TruncatedJsonRepair.repair(content);
+        }
+        if (repaired == null) {
+            recordSalvage("unrecoverable");
+            return null;
+        }
+
+        JsonNode node;
+        try {
+            node = lenientMapper().readTree(repaired);
+        } catch (JsonProcessingException e) {
+            recordSalvage("unrecoverable");
+            return null;
+        }
+
+        List<String> questions = new ArrayList<>();
+        JsonNode questionsNode = node.path("questions");
+        if (questionsNode.isArray()) {
+            for (JsonNode item : questionsNode) {
+                if (item.isTextual() && !item.asText().isBlank()) {
+                    questions.add(item.asText().trim());
+                }
+            }
+        }
+
+        if (questions.size() < salvageMinQuestions) {
+            log.warn("Salvaged {} questions from truncated response, need {}",
+                questions.size(), salvageMinQuestions);
+            recordSalvage("insufficient");
+            return null;
+        }
+
+        JsonNode jobTitle = node.path("jobTitle");
+        log.info("Salvaged {} questions from truncated interview response", questions.size());
+        recordSalvage("recovered");
+        return new MockInterviewSession(jobTitle.isTextual() ? jobTitle.asText() : null, questions);
+    }
+
+    private void recordSalvage(String outcome) {
+        meterRegistry.counter("aiprep.interview.salvage", "outcome", outcome).increment();
+    }
+
     // -------------------------------------------------------------------------
     // HTTP
     // -------------------------------------------------------------------------
@@ -167,102 +338,91 @@ public class GroqService {
         String systemPrompt,
         String userContent,
         double temperature,
-        Integer maxTokens
+        Integer maxTokens,
+        boolean background
+    ) {
+        return extractJsonObject(callAndNormalize(systemPrompt, userContent, temperature, maxTokens, background));
+    }
+
+    private String callAndNormalize(
+        String systemPrompt,
+        String userContent,
+        double temperature,
+        Integer maxTokens,
+        boolean background
     ) {
         List<Map<String, String>> messages = List.of(
             Map.of("role", "system", "content", systemPrompt),
             Map.of("role", "user", "content", userContent)
         );
-        Map<?, ?> response = postChat(messages, temperature, maxTokens);
-        String content = extractContent(response);
-        return extractJsonObject(normalizeJson(content));
+        return normalizeJson(chat(new ChatRequest(messages, temperature, maxTokens, background)));
     }
 
-    private Map<?, ?> postChat(
-        List<Map<String, String>> messages,
-        double temperature,
-        Integer maxTokens
-    ) {
-        try {
-            return postChatWithModel(PRIMARY_MODEL, messages, temperature, maxTokens);
-        } catch (RestClientResponseException e) {
-            if (isQuotaError(e)) {
-                log.warn("Primary model quota exceeded, falling back to {}", FALLBACK_MODEL);
-                return postChatWithModel(FALLBACK_MODEL, messages, temperature, maxTokens);
-            }
-            throw e;
-        }
+    private String chat(ChatRequest request) {
+        return complete(() -> llmClient.chat(request));
     }
 
-    private Map<?, ?> postChatWithModel(
-        String model,
-        List<Map<String, String>> messages,
-        double temperature,
-        Integer maxTokens
-    ) {
-        var body = new java.util.HashMap<String, Object>();
-        body.put("model", model);
-        body.put("messages", messages);
-        body.put("temperature", temperature);
-        if (maxTokens != null) {
-            body.put("max_tokens", maxTokens);
-        }
-
-        return restClient.post()
-            .uri(apiUrl)
-            .header("Authorization", "Bearer " + apiKey)
-            .contentType(MediaType.APPLICATION_JSON)
-            .body(body)
-            .retrieve()
-            .body(Map.class);
+    private String chatStream(ChatRequest request, Consumer<String> onDelta) {
+        return complete(() -> llmClient.chatStream(request, onDelta));
     }
 
-    private boolean isQuotaError(RestClientResponseException e) {
-        int status = e.getRawStatusCode();
-        if (status == 429 || status == 402) return true;
-        String body = e.getResponseBodyAsString();
-        if (body == null) return false;
-        String lower = body.toLowerCase();
-        return lower.contains("rate_limit_exceeded")
-            || lower.contains("insufficient_quota")
-            || lower.contains("quota_exceeded");
+    private String complete(Supplier<ChatCompletion> call) {
+        RequestTimings timings = RequestTimings.current();
+        inFlight.incrementAndGet();
+        try (RequestTimings.Span ignored = timings.start("llm")) {
+            ChatCompletion completion = call.get();
+            timings.attribute("model", completion.model());
+            timings.attribute("member", completion.member());
+            if (completion.attempts() > 1) timings.attribute("llm_failovers", completion.attempts() - 1);
+            return completion.content();
+        } finally {
+            inFlight.decrementAndGet();
+        }
     }
 
     // -------------------------------------------------------------------------
     // Response parsing
     // -------------------------------------------------------------------------
 
-    private String extractContent(Map<?, ?> response) {
-        if (response == null) throw new IllegalStateException("Empty Groq response");
-
-        if (!(response.get("choices") instanceof List<?> choices) || choices.isEmpty())
-            throw new IllegalStateException("Groq response missing choices");
-
-        if (!(choices.get(0) instanceof Map<?, ?> choice))
-            throw new IllegalStateException("Groq choice is not an object");
-
-        if (!(choice.get("message") instanceof Map<?, ?> message))
-            throw new IllegalStateException("Groq response missing message");
-
-        if (!(message.get("content") instanceof String content))
-            throw new IllegalStateException("Groq response content is not a string");
+    private <T> T parseWithFallback(String json, Class<T> type) throws JsonProcessingException {
+        try (RequestTimings.Span ignored = RequestTimings.current().start("parse")) {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            try (RequestTimings.Span ignored = RequestTimings.current().start("parse_lenient")) {
+                return lenientMapper().readValue(json, type);
+            }
+        }
+    }
 
-        return content;
+    private JsonNode readTreeWithFallback(String json) throws JsonProcessingException {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return lenientMapper().readTree(json);
+        }
     }
 
-    private <T> T parseWithFallback(String json, Class<T> type) throws JsonProcessingException {
+    /** Review fields from a partial combined response, or null if they aren't complete yet. */
+    private ReviewAnswerResponse parseEarlyReview(String partial) {
+        String repaired = TruncatedJsonRepair.repair(partial);
+        if (repaired == null) return null;
         try {
-            return objectMapper.readValue(json, type);
+            JsonNode node = lenientMapper().readTree(repaired);
+            if (!node.hasNonNull("summary") || !node.hasNonNull("score")) return null;
+            return objectMapper.treeToValue(node, ReviewAnswerResponse.class);
         } catch (JsonProcessingException e) {
-            return lenientMapper().readValue(json, type);
+            return null;
         }
     }
 
     private IdealAnswerResponse parseIdealAnswer(String json) throws JsonProcessingException {
-        try {
+        try (RequestTimings.Span ignored = RequestTimings.current().start("parse")) {
             return objectMapper.readValue(json, IdealAnswerResponse.class);
         } catch (JsonProcessingException e) {
-            JsonNode node = lenientMapper().readTree(json);
+            JsonNode node;
+            try (RequestTimings.Span ignored = RequestTimings.current().start("parse_lenient")) {
+                node = lenientMapper().readTree(json);
+            }
             String answer = coerceAnswer(node.has("answer") ? node.get("answer") : node);
             return new IdealAnswerResponse(answer);
         }
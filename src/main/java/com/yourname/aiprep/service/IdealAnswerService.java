@@ -0,0 +1,266 @@
+package com.yourname.aiprep.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.model.IdealAnswerResponse;
+import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.model.ReviewAnswerRequest;
+import com.yourname.aiprep.timing.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves ideal answers from a Redis cache keyed by role and question, and
+ * optionally pre-generates them in the background as soon as a session exists.
+ *
+ * Prefetch is opt-in and runs on a small, bounded, low-priority pool. Tasks are
+ * dropped rather than queued when the pool is full, skipped while interactive
+ * upstream traffic on this node is at or above the configured limit, and capped
+ * at {@code ideal-prefetch.max-per-minute} upstream calls. Prefetch calls are sent
+ * as background LLM requests, so they use reserved pool members if configured
+ * and never put a member into cooldown for interactive traffic.
+ */
+@Service
+public class IdealAnswerService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdealAnswerService.class);
+
+    private static final String CACHE_KEY_PREFIX = "ideal_answer:";
+
+    private final GroqService groqService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InFlight> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger activePrefetches = new AtomicInteger();
+    private final ExecutorService prefetchExecutor;
+
+    @Value("${ideal-prefetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ideal-prefetch.cache-ttl-seconds:86400}")
+    private long cacheTtlSeconds;
+
+    @Value("${ideal-prefetch.max-questions-per-session:10}")
+    private int maxQuestionsPerSession;
+
+    @Value("${ideal-prefetch.max-interactive-in-flight:4}")
+    private int maxInteractiveInFlight;
+
+    @Value("${ideal-prefetch.max-per-minute:20}")
+    private int maxPrefetchPerMinute;
+
+    // Fixed one-minute window for the prefetch budget.
+    private long budgetMinute;
+    private int budgetUsed;
+
+    public IdealAnswerService(
+        GroqService groqService,
+        StringRedisTemplate redisTemplate,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${ideal-prefetch.concurrency:2}") int concurrency,
+        @Value("${ideal-prefetch.queue-capacity:50}") int queueCapacity
+    ) {
+        this.groqService = groqService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.prefetchExecutor = new ThreadPoolExecutor(
+            concurrency, concurrency, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "ideal-prefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public IdealAnswerResponse getIdealAnswer(ReviewAnswerRequest request) {
+        if (!enabled) return groqService.generateIdealAnswer(request);
+
+        String key = cacheKey(request.jobTitle(), request.question());
+        IdealAnswerResponse cached;
+        try (RequestTimings.Span ignored = RequestTimings.current().start("cache")) {
+            cached = readCache(key);
+        }
+        if (cached != null) {
+            meterRegistry.counter("aiprep.ideal.cache", "result", "hit").increment();
+            RequestTimings.current().attribute("ideal_cache", "hit");
+            return cached;
+        }
+        meterRegistry.counter("aiprep.ideal.cache", "result", "miss").increment();
+        RequestTimings.current().attribute("ideal_cache", "miss");
+        return generateOnce(key, request, false);
+    }
+
+    /** Caches an ideal answer produced elsewhere, e.g. by the combined review endpoint. */
+    public void remember(ReviewAnswerRequest request, IdealAnswerResponse response) {
+        if (!enabled || response == null || response.answer() == null || response.answer().isBlank()) return;
+        writeCache(cacheKey(request.jobTitle(), request.question()), response);
+    }
+
+    /** Queues background generation for every question in the session. */
+    public void prefetch(MockInterviewSession session) {
+        if (!enabled || session == null || session.questions() == null) return;
+
+        session.questions().stream()
+            .limit(maxQuestionsPerSession)
+            .forEach(question -> {
+                ReviewAnswerRequest request = new ReviewAnswerRequest(question, null, session.jobTitle());
+                try {
+                    prefetchExecutor.execute(() -> prefetchOne(request));
+                } catch (RejectedExecutionException ex) {
+                    recordPrefetch("rejected");
+                }
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    // -------------------------------------------------------------------------
+
+    private void prefetchOne(ReviewAnswerRequest request) {
+        int interactive = groqService.inFlightRequests() - activePrefetches.get();
+        if (interactive >= maxInteractiveInFlight) {
+            recordPrefetch("deferred_to_interactive");
+            return;
+        }
+
+        String key = cacheKey(request.jobTitle(), request.question());
+        if (readCache(key) != null) {
+            recordPrefetch("already_cached");
+            return;
+        }
+
+        if (!tryAcquireBudget()) {
+            recordPrefetch("over_budget");
+            return;
+        }
+
+        activePrefetches.incrementAndGet();
+        try {
+            generateOnce(key, request, true);
+            recordPrefetch("generated");
+        } catch (RuntimeException ex) {
+            log.debug("Ideal answer prefetch failed: {}", ex.getMessage());
+            recordPrefetch("failed");
+        } finally {
+            activePrefetches.decrementAndGet();
+        }
+    }
+
+    /** Collapses concurrent requests for the same key on this node into one upstream call. */
+    private IdealAnswerResponse generateOnce(String key, ReviewAnswerRequest request, boolean background) {
+        InFlight created = new InFlight(new CompletableFuture<>(), background);
+        InFlight existing = pending.putIfAbsent(key, created);
+        if (existing != null) {
+            try {
+                return existing.result().join();
+            } catch (CompletionException ex) {
+                if (existing.background() && !background) {
+                    // A failed prefetch (e.g. no background capacity) must not fail an interactive caller.
+                    return generateAndCache(key, request, false);
+                }
+                // Rethrow the original failure so callers get the same error mapping as a direct call.
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            IdealAnswerResponse response = generateAndCache(key, request, background);
+            created.result().complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            created.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pending.remove(key, created);
+        }
+    }
+
+    private IdealAnswerResponse generateAndCache(String key, ReviewAnswerRequest request, boolean background) {
+        IdealAnswerResponse response = groqService.generateIdealAnswer(request, background);
+        writeCache(key, response);
+        return response;
+    }
+
+    private synchronized boolean tryAcquireBudget() {
+        long minute = System.currentTimeMillis() / 60_000;
+        if (minute != budgetMinute) {
+            budgetMinute = minute;
+            budgetUsed = 0;
+        }
+        if (budgetUsed >= maxPrefetchPerMinute) return false;
+        budgetUsed++;
+        return true;
+    }
+
+    private IdealAnswerResponse readCache(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, IdealAnswerResponse.class);
+        } catch (DataAccessException | JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private void writeCache(String key, IdealAnswerResponse response) {
+        try {
+            redisTemplate.opsForValue().set(
+                key, objectMapper.writeValueAsString(response), Duration.ofSeconds(cacheTtlSeconds));
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.debug("Could not cache ideal answer: {}", ex.getMessage());
+        }
+    }
+
+    private void recordPrefetch(String outcome) {
+        meterRegistry.counter("aiprep.ideal.prefetch", "outcome", outcome).increment();
+    }
+
+    private static String cacheKey(String jobTitle, String question) {
+        String normalized = normalize(jobTitle) + "\n" + normalize(question);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return CACHE_KEY_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return "";
+        return value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record InFlight(CompletableFuture<IdealAnswerResponse> result, boolean background) {}
+}
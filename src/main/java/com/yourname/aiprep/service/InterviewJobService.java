@@ -0,0 +1,101 @@
+package com.yourname.aiprep.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis-backed state for asynchronous interview generation.
+ *
+ * Jobs are queued on a shared stream consumed by {@link InterviewJobWorker}.
+ * Each job's progress and result are appended to its own events stream, so any
+ * node can replay or resume them using the stream entry id as the SSE event id.
+ */
+@Service
+public class InterviewJobService {
+
+    static final String JOBS_KEY = "interview:jobs";
+    static final String JOBS_GROUP = "interview-workers";
+
+    public static final String EVENT_PROGRESS = "progress";
+    public static final String EVENT_RESULT = "result";
+    public static final String EVENT_ERROR = "error";
+
+    private static final String EVENTS_KEY_PREFIX = "interview:job:";
+    private static final String EVENTS_KEY_SUFFIX = ":events";
+    private static final int READ_BATCH = 50;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${interview-jobs.events-ttl-seconds:3600}")
+    private long eventsTtlSeconds;
+
+    public InterviewJobService(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public String submit(String prompt) {
+        String jobId = UUID.randomUUID().toString();
+        // Create the events stream first so the job is visible to readers immediately.
+        appendEvent(jobId, EVENT_PROGRESS, "Queued...");
+        redisTemplate.opsForStream().add(
+            StreamRecords.string(Map.of("jobId", jobId, "prompt", prompt)).withStreamKey(JOBS_KEY)
+        );
+        return jobId;
+    }
+
+    public boolean exists(String jobId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(eventsKey(jobId)));
+    }
+
+    public void appendEvent(String jobId, String event, String data) {
+        String key = eventsKey(jobId);
+        redisTemplate.opsForStream().add(
+            StreamRecords.string(Map.of("event", event, "data", data)).withStreamKey(key)
+        );
+        redisTemplate.expire(key, Duration.ofSeconds(eventsTtlSeconds));
+    }
+
+    /**
+     * Reads events recorded after {@code afterId} ("0-0" for the full history),
+     * blocking up to {@code block} when none are available yet.
+     */
+    public List<JobEvent> readEvents(String jobId, String afterId, Duration block) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+            StreamReadOptions.empty().count(READ_BATCH).block(block),
+            StreamOffset.create(eventsKey(jobId), ReadOffset.from(afterId))
+        );
+        if (records == null) return List.of();
+
+        List<JobEvent> events = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> value = record.getValue();
+            events.add(new JobEvent(
+                record.getId().getValue(),
+                String.valueOf(value.get("event")),
+                String.valueOf(value.get("data"))
+            ));
+        }
+        return events;
+    }
+
+    private static String eventsKey(String jobId) {
+        return EVENTS_KEY_PREFIX + jobId + EVENTS_KEY_SUFFIX;
+    }
+
+    public record JobEvent(String id, String event, String data) {
+        public boolean terminal() {
+            return EVENT_RESULT.equals(event) || EVENT_ERROR.equals(event);
+        }
+    }
+}
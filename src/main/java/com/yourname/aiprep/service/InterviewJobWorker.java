@@ -0,0 +1,267 @@
+package com.yourname.aiprep.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.model.MockInterviewSession;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes queued interview jobs from the shared Redis stream.
+ *
+ * Workers join a consumer group, so each job runs on exactly one node. Jobs left
+ * pending by a node that died are claimed by another worker once they have been
+ * idle for {@code interview-jobs.claim-idle-seconds}.
+ *
+ * With {@code interview-jobs.worker.lazy-start} the workers are not started during
+ * context refresh but on a separate thread once the application is ready, so the
+ * consumer group setup stays off the startup path. The generation services are
+ * only looked up when a job is processed, so fast-start nodes do not pay for them
+ * at boot.
+ */
+@Component
+public class InterviewJobWorker implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InterviewJobWorker.class);
+
+    private static final Duration READ_BLOCK = Duration.ofSeconds(5);
+
+    private final StringRedisTemplate redisTemplate;
+    private final InterviewJobService jobService;
+    private final ObjectProvider<GroqService> groqService;
+    private final ObjectProvider<IdealAnswerService> idealAnswerService;
+    private final ObjectMapper objectMapper;
+    private final String consumerPrefix;
+
+    @Value("${interview-jobs.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${interview-jobs.worker.lazy-start:false}")
+    private boolean lazyStart;
+
+    @Value("${interview-jobs.worker.concurrency:2}")
+    private int concurrency;
+
+    @Value("${interview-jobs.claim-idle-seconds:180}")
+    private long claimIdleSeconds;
+
+    @Value("${interview-jobs.max-deliveries:3}")
+    private long maxDeliveries;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public InterviewJobWorker(
+        StringRedisTemplate redisTemplate,
+        InterviewJobService jobService,
+        ObjectProvider<GroqService> groqService,
+        ObjectProvider<IdealAnswerService> idealAnswerService,
+        ObjectMapper objectMapper
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jobService = jobService;
+        this.groqService = groqService;
+        this.idealAnswerService = idealAnswerService;
+        this.objectMapper = objectMapper;
+        this.consumerPrefix = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return !lazyStart;
+    }
+
+    /** With {@code lazy-start}, starts the workers in the background once the node takes traffic. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!lazyStart || !enabled || concurrency <= 0) return;
+        Thread starter = new Thread(() -> {
+            try {
+                start();
+            } catch (RuntimeException ex) {
+                log.error("Could not start interview job workers", ex);
+            }
+        }, "interview-job-worker-start");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !enabled || concurrency <= 0) return;
+        ensureGroup();
+        running = true;
+        executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            String consumer = consumerPrefix + "-" + i;
+            executor.submit(() -> pollLoop(consumer));
+        }
+        log.info("Started {} interview job workers ({})", concurrency, consumerPrefix);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // -------------------------------------------------------------------------
+
+    private void pollLoop(String consumer) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                    Consumer.from(InterviewJobService.JOBS_GROUP, consumer),
+                    StreamReadOptions.empty().count(1).block(READ_BLOCK),
+                    StreamOffset.create(InterviewJobService.JOBS_KEY, ReadOffset.lastConsumed())
+                );
+                if (records == null || records.isEmpty()) {
+                    reclaimStale(consumer);
+                    continue;
+                }
+                records.forEach(this::process);
+            } catch (DataAccessException ex) {
+                if (!running) return;
+                if (hasErrorCode(ex, "NOGROUP")) {
+                    // Redis was unreachable at startup or restarted without persistence.
+                    log.warn("Interview job group missing, recreating it");
+                    if (ensureGroup()) continue;
+                } else {
+                    log.warn("Interview job poll failed: {}", ex.getMessage());
+                }
+                sleepQuietly(READ_BLOCK);
+            }
+        }
+    }
+
+    private void reclaimStale(String consumer) {
+        PendingMessages pending = redisTemplate.opsForStream().pending(
+            InterviewJobService.JOBS_KEY, InterviewJobService.JOBS_GROUP, Range.unbounded(), 10L
+        );
+        Duration minIdle = Duration.ofSeconds(claimIdleSeconds);
+
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) continue;
+
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                InterviewJobService.JOBS_KEY, InterviewJobService.JOBS_GROUP, consumer, minIdle,
+                message.getId()
+            );
+            for (MapRecord<String, Object, Object> record : claimed) {
+                if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                    log.warn("Giving up on interview job {} after {} deliveries",
+                        record.getValue().get("jobId"), message.getTotalDeliveryCount());
+                    fail(record, "Interview generation did not complete. Please try again.");
+                } else {
+                    process(record);
+                }
+            }
+        }
+    }
+
+    private void process(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> value = record.getValue();
+        String jobId = String.valueOf(value.get("jobId"));
+        String prompt = String.valueOf(value.get("prompt"));
+
+        try {
+            MockInterviewSession session = groqService.getObject().generateMockInterviewSessionWithProgress(
+                prompt,
+                message -> jobService.appendEvent(jobId, InterviewJobService.EVENT_PROGRESS, message)
+            );
+            jobService.appendEvent(jobId, InterviewJobService.EVENT_RESULT,
+                objectMapper.writeValueAsString(session));
+            acknowledge(record);
+            idealAnswerService.getObject().prefetch(session);
+        } catch (Exception ex) {
+            log.warn("Interview job {} failed: {}", jobId, ex.getMessage());
+            fail(record, ex.getMessage());
+        }
+    }
+
+    private void fail(MapRecord<String, Object, Object> record, String message) {
+        String jobId = String.valueOf(record.getValue().get("jobId"));
+        jobService.appendEvent(jobId, InterviewJobService.EVENT_ERROR, String.valueOf(message));
+        acknowledge(record);
+    }
+
+    private void acknowledge(MapRecord<String, Object, Object> record) {
+        redisTemplate.opsForStream().acknowledge(InterviewJobService.JOBS_GROUP, record);
+        redisTemplate.opsForStream().delete(record);
+    }
+
+    /** Creates the consumer group if needed; returns whether it exists afterwards. */
+    private boolean ensureGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection ->
+                connection.streamCommands().xGroupCreate(
+                    InterviewJobService.JOBS_KEY.getBytes(),
+                    InterviewJobService.JOBS_GROUP,
+                    ReadOffset.from("0-0"),
+                    true
+                )
+            );
+            return true;
+        } catch (DataAccessException ex) {
+            if (hasErrorCode(ex, "BUSYGROUP")) {
+                // Another node already created it.
+                return true;
+            }
+            log.warn("Could not create interview job group, will retry on next poll: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean hasErrorCode(Throwable ex, String code) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(code)) return true;
+        }
+        return false;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            return "node";
+        }
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.yourname.aiprep.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures over word shingles of a normalized job description.
+ *
+ * Seeds come from a fixed-seed generator, so signatures are stable across
+ * nodes and restarts and can be persisted. Two signatures agree in a given
+ * slot with probability equal to the Jaccard similarity of the shingle sets.
+ */
+final class MinHash {
+
+    static final int NUM_HASHES = 128;
+    static final int SHINGLE_WORDS = 3;
+
+    private static final Pattern SEGMENT_BOUNDARY = Pattern.compile("[\\r\\n\\u2022*;]+|\\.\\s+|\\s-\\s");
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(NUM_HASHES).toArray();
+
+    private MinHash() {}
+
+    static int[] signature(String text) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (String shingle : shingles(text)) {
+            long base = fnv1a64(shingle);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) mix64(base ^ SEEDS[i]);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    /**
+     * Word shingles taken within each bullet, line or sentence, so reordering
+     * bullets leaves the shingle set unchanged. Words are lower-cased with
+     * punctuation removed.
+     */
+    static Set<String> shingles(String text) {
+        Set<String> shingles = new HashSet<>();
+        if (text == null) return shingles;
+
+        for (String segment : SEGMENT_BOUNDARY.split(text)) {
+            String normalized = segment.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}+#]+", " ")
+                .strip();
+            if (normalized.isEmpty()) continue;
+
+            String[] words = normalized.split(" ");
+            if (words.length < SHINGLE_WORDS) {
+                shingles.add(normalized);
+                continue;
+            }
+            for (int i = 0; i + SHINGLE_WORDS <= words.length; i++) {
+                shingles.add(String.join(" ", Arrays.copyOfRange(words, i, i + SHINGLE_WORDS)));
+            }
+        }
+        return shingles;
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
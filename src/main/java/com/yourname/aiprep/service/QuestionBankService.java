@@ -0,0 +1,304 @@
+package com.yourname.aiprep.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.repository.QuestionBankRepository;
+import com.yourname.aiprep.repository.QuestionBankRepository.BankEntry;
+import com.yourname.aiprep.repository.QuestionBankRepository.SignatureRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reuses generated questions for near-duplicate job descriptions.
+ *
+ * Each stored session is indexed by the MinHash signature of its job
+ * description. An in-memory LSH index (bands of signature rows) finds
+ * candidates, and the best candidate is accepted if its estimated Jaccard
+ * similarity reaches {@code question-bank.similarity-threshold}.
+ *
+ * A background task picks up entries written by other nodes every
+ * {@code question-bank.refresh-seconds}, so lookups never wait on the database.
+ * The index holds at most {@code question-bank.max-entries} entries, and entries
+ * older than {@code question-bank.retention-days} are dropped from both the index
+ * and the table. Sessions that already have a near-duplicate are not stored.
+ *
+ * Stores run on the refresh thread, so callers never wait on the insert, and at
+ * most {@code MAX_PENDING_STORES} are queued; beyond that new sessions are dropped.
+ */
+@Service
+public class QuestionBankService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionBankService.class);
+
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = MinHash.NUM_HASHES / BANDS;
+    private static final int REFRESH_PAGE_SIZE = 500;
+    private static final int MAX_PENDING_STORES = 256;
+
+    private final QuestionBankRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Insertion-ordered, which is roughly creation order, so the eldest entry is evicted first.
+    private final LinkedHashMap<Long, IndexedEntry> entries = new LinkedHashMap<>();
+    private final List<Map<Integer, List<Long>>> bands = new ArrayList<>(BANDS);
+
+    // Refresh cursor, only touched by the refresh thread.
+    private Instant lastCreatedAt;
+
+    private final AtomicInteger pendingStores = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile ScheduledExecutorService refresher;
+
+    @Value("${question-bank.enabled:false}")
+    private boolean enabled;
+
+    @Value("${question-bank.similarity-threshold:0.8}")
+    private double similarityThreshold;
+
+    @Value("${question-bank.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    @Value("${question-bank.refresh-overlap-seconds:300}")
+    private long refreshOverlapSeconds;
+
+    @Value("${question-bank.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${question-bank.retention-days:30}")
+    private long retentionDays;
+
+    public QuestionBankService(
+        QuestionBankRepository repository,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < BANDS; i++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    /** Returns a stored session whose job description is close enough to {@code jobDescription}. */
+    public Optional<MockInterviewSession> find(String jobDescription) {
+        if (!enabled) return Optional.empty();
+
+        try {
+            Match match = bestMatch(MinHash.signature(jobDescription));
+            if (match == null || match.similarity() < similarityThreshold) {
+                record("miss");
+                return Optional.empty();
+            }
+
+            BankEntry entry = repository.findById(match.id());
+            if (entry == null) {
+                record("miss");
+                return Optional.empty();
+            }
+            List<String> questions = objectMapper.readValue(entry.questionsJson(), new TypeReference<>() {});
+            log.info("Question bank hit: entry {} similarity {}", match.id(), match.similarity());
+            record("hit");
+            return Optional.of(new MockInterviewSession(entry.jobTitle(), questions));
+        } catch (Exception ex) {
+            // The bank is an optimization; fall back to generation on any failure.
+            log.warn("Question bank lookup failed: {}", ex.getMessage());
+            record("error");
+            return Optional.empty();
+        }
+    }
+
+    /** Queues {@code session} for storage on the refresh thread; never blocks. */
+    public void store(String jobDescription, MockInterviewSession session) {
+        if (!enabled || session == null || session.questions() == null || session.questions().isEmpty()) return;
+
+        ScheduledExecutorService executor = refresher;
+        if (!running || executor == null) return;
+        if (pendingStores.incrementAndGet() > MAX_PENDING_STORES) {
+            pendingStores.decrementAndGet();
+            meterRegistry.counter("aiprep.question_bank.store", "result", "dropped").increment();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    storeNow(jobDescription, session);
+                } finally {
+                    pendingStores.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Shutting down.
+            pendingStores.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "question-bank-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // -------------------------------------------------------------------------
+
+    private void storeNow(String jobDescription, MockInterviewSession session) {
+        try {
+            int[] signature = MinHash.signature(jobDescription);
+            Match existing = bestMatch(signature);
+            if (existing != null && existing.similarity() >= similarityThreshold) {
+                meterRegistry.counter("aiprep.question_bank.store", "result", "duplicate").increment();
+                return;
+            }
+
+            long id = repository.insert(
+                session.jobTitle(),
+                objectMapper.writeValueAsString(session.questions()),
+                signature
+            );
+            index(id, signature, Instant.now());
+            meterRegistry.counter("aiprep.question_bank.store", "result", "stored").increment();
+        } catch (Exception ex) {
+            log.warn("Could not store session in question bank: {}", ex.getMessage());
+        }
+    }
+
+    private void refresh() {
+        try {
+            Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+            int deleted = repository.deleteOlderThan(cutoff);
+            if (deleted > 0) log.info("Question bank dropped {} expired entries", deleted);
+            evictOlderThan(cutoff);
+
+            // Re-read an overlap window, since BIGSERIAL ids and commit order can
+            // disagree across nodes; already indexed rows are skipped.
+            Instant from = lastCreatedAt == null
+                ? cutoff
+                : lastCreatedAt.minus(Duration.ofSeconds(refreshOverlapSeconds));
+            long afterId = 0;
+            List<SignatureRow> page;
+            do {
+                page = repository.findSignaturesAfter(from, afterId, REFRESH_PAGE_SIZE);
+                for (SignatureRow row : page) {
+                    index(row.id(), row.signature(), row.createdAt());
+                    from = row.createdAt();
+                    afterId = row.id();
+                }
+            } while (page.size() == REFRESH_PAGE_SIZE);
+
+            if (lastCreatedAt == null || from.isAfter(lastCreatedAt)) {
+                lastCreatedAt = from;
+            }
+        } catch (Exception ex) {
+            log.warn("Question bank refresh failed: {}", ex.getMessage());
+        }
+    }
+
+    private synchronized Match bestMatch(int[] signature) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Long> bucket = bands.get(band).get(bandHash(signature, band));
+            if (bucket != null) candidates.addAll(bucket);
+        }
+
+        Match best = null;
+        for (long candidate : candidates) {
+            double similarity = MinHash.similarity(signature, entries.get(candidate).signature());
+            if (best == null || similarity > best.similarity()) {
+                best = new Match(candidate, similarity);
+            }
+        }
+        return best;
+    }
+
+    private synchronized void index(long id, int[] signature, Instant createdAt) {
+        if (entries.containsKey(id)) return;
+        if (createdAt.isBefore(Instant.now().minus(Duration.ofDays(retentionDays)))) return;
+
+        entries.put(id, new IndexedEntry(signature, createdAt));
+        for (int band = 0; band < BANDS; band++) {
+            bands.get(band).computeIfAbsent(bandHash(signature, band), key -> new ArrayList<>()).add(id);
+        }
+
+        while (entries.size() > maxEntries) {
+            Map.Entry<Long, IndexedEntry> eldest = entries.entrySet().iterator().next();
+            unindex(eldest.getKey(), eldest.getValue());
+            entries.remove(eldest.getKey());
+        }
+    }
+
+    private synchronized void evictOlderThan(Instant cutoff) {
+        Iterator<Map.Entry<Long, IndexedEntry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, IndexedEntry> entry = it.next();
+            if (!entry.getValue().createdAt().isBefore(cutoff)) continue;
+            unindex(entry.getKey(), entry.getValue());
+            it.remove();
+        }
+    }
+
+    private void unindex(long id, IndexedEntry entry) {
+        for (int band = 0; band < BANDS; band++) {
+            int hash = bandHash(entry.signature(), band);
+            List<Long> bucket = bands.get(band).get(hash);
+            if (bucket == null) continue;
+            bucket.remove(Long.valueOf(id));
+            if (bucket.isEmpty()) bands.get(band).remove(hash);
+        }
+    }
+
+    private static int bandHash(int[] signature, int band) {
+        int from = band * ROWS_PER_BAND;
+        return Arrays.hashCode(Arrays.copyOfRange(signature, from, from + ROWS_PER_BAND));
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("aiprep.question_bank.lookup", "result", result).increment();
+    }
+
+    private record IndexedEntry(int[] signature, Instant createdAt) {}
+
+    private record Match(long id, double similarity) {}
+}
@@ -0,0 +1,171 @@
+package com.yourname.aiprep.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects rate-limit counter updates from concurrent requests and flushes them
+ * to Redis as one pipelined batch.
+ *
+ * A batch is flushed once it holds {@code rate-limit.batch.max-size} operations
+ * or its first operation has waited {@code rate-limit.batch.max-wait-micros}.
+ * Each operation is HINCRBY on the client's field of a window bucket hash plus
+ * EXPIREAT of the bucket, so a window needs no follow-up round trip.
+ */
+@Component
+public class RateLimitBatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitBatcher.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final DistributionSummary batchSize;
+    private final Timer queueDelay;
+    private final BlockingQueue<PendingOp> queue;
+
+    @Value("${rate-limit.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rate-limit.batch.max-size:64}")
+    private int maxSize;
+
+    @Value("${rate-limit.batch.max-wait-micros:200}")
+    private long maxWaitMicros;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public RateLimitBatcher(
+        RedisTemplate<String, String> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${rate-limit.batch.queue-capacity:10000}") int queueCapacity
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("aiprep.rate_limit.batch.size")
+            .register(meterRegistry);
+        this.queueDelay = Timer.builder("aiprep.rate_limit.batch.queue_delay")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Queues an increment of {@code field} in bucket {@code key}, completing with the new count. */
+    public CompletableFuture<Long> increment(String key, String field, long expireAtEpochSeconds) {
+        PendingOp op = new PendingOp(key, field, expireAtEpochSeconds, System.nanoTime(), new CompletableFuture<>());
+        if (!running || !queue.offer(op)) {
+            op.result().completeExceptionally(new IllegalStateException("Rate-limit batcher unavailable"));
+        }
+        return op.result();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        flusher = new Thread(this::flushLoop, "rate-limit-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // -------------------------------------------------------------------------
+
+    private void flushLoop() {
+        List<PendingOp> batch = new ArrayList<>(maxSize);
+        while (running) {
+            try {
+                PendingOp first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = first.enqueuedNanos() + TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingOp next = remaining > 0
+                        ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                        : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        List<PendingOp> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(op -> op.result().completeExceptionally(
+            new IllegalStateException("Rate-limit batcher stopped")));
+    }
+
+    private void flush(List<PendingOp> batch) {
+        long now = System.nanoTime();
+        for (PendingOp op : batch) {
+            queueDelay.record(now - op.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+        batchSize.record(batch.size());
+
+        List<Object> replies;
+        try {
+            replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingOp op : batch) {
+                    byte[] key = op.key().getBytes(StandardCharsets.UTF_8);
+                    connection.hashCommands().hIncrBy(key, op.field().getBytes(StandardCharsets.UTF_8), 1);
+                    connection.keyCommands().expireAt(key, op.expireAtEpochSeconds());
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.debug("Rate-limit batch of {} failed: {}", batch.size(), ex.getMessage());
+            batch.forEach(op -> op.result().completeExceptionally(ex));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Object count = replies.get(i * 2);
+            batch.get(i).result().complete(count instanceof Long c ? c : null);
+        }
+    }
+
+    private record PendingOp(
+        String key,
+        String field,
+        long expireAtEpochSeconds,
+        long enqueuedNanos,
+        CompletableFuture<Long> result
+    ) {}
+}
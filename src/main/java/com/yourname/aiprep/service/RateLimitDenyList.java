@@ -0,0 +1,183 @@
+package com.yourname.aiprep.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.service.RateLimiterService.RateLimitStatus;
+import com.yourname.aiprep.service.RateLimiterService.WindowStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process cache of clients that are currently over their limit.
+ *
+ * Once Redis reports a client as blocked, further requests are answered from
+ * here until the blocking window resets, so retries from an exhausted client no
+ * longer cost any Redis commands. Entries can optionally be shared with other
+ * nodes over Redis pub/sub.
+ */
+@Component
+public class RateLimitDenyList {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitDenyList.class);
+
+    static final String CHANNEL = "rate_limit:deny";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    @Value("${rate-limit.deny-list.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.deny-list.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${rate-limit.deny-list.sync-enabled:false}")
+    private boolean syncEnabled;
+
+    public RateLimitDenyList(
+        StringRedisTemplate redisTemplate,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        ObjectProvider<RedisMessageListenerContainer> listenerContainer
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (!enabled || !syncEnabled) return;
+        RedisMessageListenerContainer container = listenerContainer.getIfAvailable();
+        if (container == null) {
+            log.warn("Deny-list sync enabled but no RedisMessageListenerContainer is available");
+            return;
+        }
+        container.addMessageListener(
+            (message, pattern) -> onRemoteDeny(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(CHANNEL)
+        );
+    }
+
+    /**
+     * Returns the cached rejection for {@code key} with reset times adjusted to
+     * now, or null if the client is not currently denied.
+     */
+    public RateLimitStatus lookup(String key) {
+        if (!enabled) return null;
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        long now = System.currentTimeMillis();
+        if (entry.expiresAtMillis() <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        meterRegistry.counter("aiprep.rate_limit.deny_list", "result", "hit").increment();
+        return entry.statusAt(now);
+    }
+
+    /** Records a rejected status until its blocking window resets. */
+    public void deny(String key, RateLimitStatus status) {
+        if (!enabled || status.allowed()) return;
+        long ttlMillis = blockedForSeconds(status) * 1000;
+        if (ttlMillis <= 0) return;
+
+        if (put(key, status, ttlMillis) && syncEnabled) {
+            publish(key, status, ttlMillis);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    private boolean put(String key, RateLimitStatus status, long ttlMillis) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                meterRegistry.counter("aiprep.rate_limit.deny_list", "result", "full").increment();
+                return false;
+            }
+        }
+        long now = System.currentTimeMillis();
+        entries.put(key, new Entry(status, now, now + ttlMillis));
+        return true;
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    private void publish(String key, RateLimitStatus status, long ttlMillis) {
+        try {
+            String payload = objectMapper.writeValueAsString(new DenyMessage(nodeId, key, ttlMillis, status));
+            redisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.debug("Could not publish deny-list entry: {}", ex.getMessage());
+        }
+    }
+
+    private void onRemoteDeny(String payload) {
+        try {
+            DenyMessage message = objectMapper.readValue(payload, DenyMessage.class);
+            if (nodeId.equals(message.nodeId())) return;
+            // TTL is relative so clock skew between nodes doesn't stretch the block.
+            put(message.key(), message.status(), message.ttlMillis());
+        } catch (Exception ex) {
+            log.debug("Ignoring malformed deny-list message: {}", ex.getMessage());
+        }
+    }
+
+    /** A client stays blocked until every exhausted window has reset. */
+    private static long blockedForSeconds(RateLimitStatus status) {
+        long seconds = 0;
+        if (!status.minute().allowed()) seconds = Math.max(seconds, status.minute().resetSeconds());
+        if (!status.day().allowed()) seconds = Math.max(seconds, status.day().resetSeconds());
+        return seconds;
+    }
+
+    private record Entry(RateLimitStatus status, long recordedAtMillis, long expiresAtMillis) {
+        RateLimitStatus statusAt(long now) {
+            long elapsedSeconds = (now - recordedAtMillis) / 1000;
+            WindowStatus minute = age(status.minute(), elapsedSeconds);
+            WindowStatus day = age(status.day(), elapsedSeconds);
+            return new RateLimitStatus(
+                false,
+                status.limit(),
+                status.remaining(),
+                Math.max(0, status.resetSeconds() - elapsedSeconds),
+                minute,
+                day
+            );
+        }
+
+        private static WindowStatus age(WindowStatus window, long elapsedSeconds) {
+            return new WindowStatus(
+                window.allowed(),
+                window.limit(),
+                window.remaining(),
+                Math.max(0, window.resetSeconds() - elapsedSeconds)
+            );
+        }
+    }
+
+    record DenyMessage(String nodeId, String key, long ttlMillis, RateLimitStatus status) {}
+}
@@ -1,6 +1,9 @@
 package com.yourname.aiprep.service;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -9,10 +12,31 @@ import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+/**
+ * Fixed-window request counters for the minute and day limits.
+ *
+ * Counters are fields of time-bucketed hashes rather than standalone keys:
+ * {@code rl:<window>:<bucket>:<shard>} holds one field per client key, and the
+ * whole hash expires at the end of its bucket. Windows are aligned to the epoch,
+ * so every client in a bucket shares one key and one TTL. Clients are spread over
+ * enough hashes that each stays well under Redis' compact listpack limit
+ * ({@code hash-max-listpack-entries}, 128 by default): the shard count is derived
+ * from {@code rate-limit.expected-clients} unless {@code rate-limit.bucket-shards}
+ * sets it explicitly.
+ */
 @Service
 public class RateLimiterService {
 
+    /**
+     * Average clients per shard the derived shard count aims for. Shard sizes are
+     * roughly Poisson, so an average of at most 64 keeps practically every shard
+     * under 128 fields.
+     */
+    static final int TARGET_CLIENTS_PER_SHARD = 64;
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final RateLimitBatcher batcher;
+    private final int bucketShards;
 
     @Value("${rate-limit.max-requests-per-minute}")
     private int maxRequestsPerMinute;
@@ -26,13 +50,48 @@ public class RateLimiterService {
     @Value("${rate-limit.window-day-seconds:86400}")
     private long windowDaySeconds;
 
-    public RateLimiterService(RedisTemplate<String, String> redisTemplate) {
+    @Value("${rate-limit.batch.timeout-millis:100}")
+    private long batchTimeoutMillis;
+
+    public RateLimiterService(
+        RedisTemplate<String, String> redisTemplate,
+        RateLimitBatcher batcher,
+        @Value("${rate-limit.expected-clients:1000000}") long expectedClients,
+        @Value("${rate-limit.bucket-shards:0}") int bucketShards
+    ) {
         this.redisTemplate = redisTemplate;
+        this.batcher = batcher;
+        this.bucketShards = bucketShards > 0 ? bucketShards : shardsFor(expectedClients);
+    }
+
+    /** Smallest power of two giving at most {@link #TARGET_CLIENTS_PER_SHARD} clients per shard. */
+    static int shardsFor(long expectedClients) {
+        long needed = Math.max(1, (expectedClients + TARGET_CLIENTS_PER_SHARD - 1) / TARGET_CLIENTS_PER_SHARD);
+        long shards = Long.highestOneBit(needed);
+        if (shards < needed) shards <<= 1;
+        return (int) Math.min(shards, 1 << 30);
     }
 
-    public RateLimitStatus consume(String ip) {
-        WindowStatus minute = consumeWindow("rate_limit:minute:" + ip, maxRequestsPerMinute, windowMinuteSeconds);
-        WindowStatus day = consumeWindow("rate_limit:day:" + ip, maxRequestsPerDay, windowDaySeconds);
+    public RateLimitStatus consume(String clientKey) {
+        long now = System.currentTimeMillis() / 1000;
+        Bucket minuteBucket = bucket("m", clientKey, windowMinuteSeconds, now);
+        Bucket dayBucket = bucket("d", clientKey, windowDaySeconds, now);
+
+        WindowStatus minute;
+        WindowStatus day;
+        if (batcher.isEnabled()) {
+            // Queue both windows before waiting so they land in the same batch.
+            CompletableFuture<Long> minuteCount =
+                batcher.increment(minuteBucket.key(), clientKey, minuteBucket.expireAt());
+            CompletableFuture<Long> dayCount =
+                batcher.increment(dayBucket.key(), clientKey, dayBucket.expireAt());
+            minute = awaitWindow(minuteCount, maxRequestsPerMinute, minuteBucket);
+            day = awaitWindow(dayCount, maxRequestsPerDay, dayBucket);
+        } else {
+            List<Long> counts = incrementAll(clientKey, minuteBucket, dayBucket);
+            minute = toWindowStatus(counts.get(0), maxRequestsPerMinute, minuteBucket);
+            day = toWindowStatus(counts.get(1), maxRequestsPerDay, dayBucket);
+        }
 
         boolean allowed = minute.allowed() && day.allowed();
         WindowStatus primary = pickPrimary(minute, day);
@@ -47,27 +106,58 @@ public class RateLimiterService {
         );
     }
 
-    private WindowStatus consumeWindow(String key, int limit, long windowSeconds) {
-        Long count;
+    private Bucket bucket(String window, String clientKey, long windowSeconds, long now) {
+        long index = now / windowSeconds;
+        int shard = Math.floorMod(clientKey.hashCode(), bucketShards);
+        long expireAt = (index + 1) * windowSeconds;
+        return new Bucket("rl:" + window + ":" + index + ":" + shard, expireAt, expireAt - now);
+    }
+
+    /** HINCRBY and EXPIREAT for every window in one round trip; null counts mean Redis was unavailable. */
+    private List<Long> incrementAll(String clientKey, Bucket... buckets) {
+        byte[] field = clientKey.getBytes(StandardCharsets.UTF_8);
+        List<Object> replies;
         try {
-            count = redisTemplate.execute((RedisCallback<Long>) connection ->
-                connection.commands().incr(key.getBytes())
-            );
+            replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Bucket bucket : buckets) {
+                    byte[] key = bucket.key().getBytes(StandardCharsets.UTF_8);
+                    connection.hashCommands().hIncrBy(key, field, 1);
+                    connection.keyCommands().expireAt(key, bucket.expireAt());
+                }
+                return null;
+            });
         } catch (DataAccessException ex) {
             // Fail open if Redis is temporarily unavailable.
-            return new WindowStatus(true, limit, limit, windowSeconds);
+            replies = List.of();
         }
 
-        if (count == null) {
-            return new WindowStatus(true, limit, limit, windowSeconds);
+        Long[] counts = new Long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            Object reply = replies.size() > i * 2 ? replies.get(i * 2) : null;
+            counts[i] = reply instanceof Long count ? count : null;
         }
+        return Arrays.asList(counts);
+    }
 
-        if (count == 1) {
-            redisTemplate.expire(key, Duration.ofSeconds(windowSeconds));
+    private WindowStatus awaitWindow(CompletableFuture<Long> counter, int limit, Bucket bucket) {
+        Long count;
+        try {
+            count = counter.get(batchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            count = null;
+        } catch (Exception ex) {
+            // Fail open, same as a direct Redis failure.
+            count = null;
         }
+        return toWindowStatus(count, limit, bucket);
+    }
 
-        Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
-        long resetSeconds = ttl != null && ttl > 0 ? ttl : windowSeconds;
+    private WindowStatus toWindowStatus(Long count, int limit, Bucket bucket) {
+        long resetSeconds = Math.max(1, bucket.resetSeconds());
+        if (count == null) {
+            return new WindowStatus(true, limit, limit, resetSeconds);
+        }
         long remaining = Math.max(0, limit - count);
         boolean allowed = count <= limit;
 
@@ -96,6 +186,8 @@ public class RateLimiterService {
         WindowStatus day
     ) {}
 
+    private record Bucket(String key, long expireAt, long resetSeconds) {}
+
     public record WindowStatus(
         boolean allowed,
         long limit,
@@ -0,0 +1,115 @@
+package com.yourname.aiprep.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Repairs JSON that was cut off mid-stream (e.g. a completion that hit max_tokens).
+ *
+ * The scanner remembers the last point at which every open value was complete.
+ * Repair cuts the input back to that point, which drops an unterminated string
+ * or half-written element, and then appends the closers for any still-open
+ * arrays and objects. The result keeps every complete element the model wrote.
+ */
+final class TruncatedJsonRepair {
+
+    private TruncatedJsonRepair() {}
+
+    /**
+     * Returns a syntactically closed version of {@code content}, or null if the
+     * input does not start a JSON object or array.
+     */
+    static String repair(String content) {
+        if (content == null) return null;
+        int start = firstContainer(content);
+        if (start < 0) return null;
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        int safeEnd = -1;
+        String safeClosers = "";
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = start; i < content.length(); i++) {
+            char c = content.charAt(i);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    Frame top = stack.peek();
+                    if (top != null && top.completesValue()) {
+                        safeEnd = i + 1;
+                        safeClosers = closers(stack);
+                    }
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    stack.push(new Frame(c == '{'));
+                    safeEnd = i + 1;
+                    safeClosers = closers(stack);
+                }
+                case '}', ']' -> {
+                    if (stack.isEmpty()) return content.substring(start, i);
+                    stack.pop();
+                    safeEnd = i + 1;
+                    safeClosers = closers(stack);
+                    if (stack.isEmpty()) return content.substring(start, i + 1);
+                    Frame parent = stack.peek();
+                    parent.expectingValue = false;
+                }
+                case ':' -> {
+                    if (!stack.isEmpty()) stack.peek().expectingValue = true;
+                }
+                case ',' -> {
+                    // Everything before a separator is complete, including bare
+                    // numbers and literals that have no closing delimiter.
+                    safeEnd = i;
+                    safeClosers = closers(stack);
+                    if (!stack.isEmpty()) stack.peek().expectingValue = false;
+                }
+                default -> { }
+            }
+        }
+
+        if (safeEnd < 0) return null;
+        return content.substring(start, safeEnd) + safeClosers;
+    }
+
+    private static int firstContainer(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '{' || c == '[') return i;
+        }
+        return -1;
+    }
+
+    private static String closers(Deque<Frame> stack) {
+        StringBuilder sb = new StringBuilder(stack.size());
+        for (Frame frame : stack) {
+            sb.append(frame.object ? '}' : ']');
+        }
+        return sb.toString();
+    }
+
+    private static final class Frame {
+        private final boolean object;
+        private boolean expectingValue;
+
+        private Frame(boolean object) {
+            this.object = object;
+        }
+
+        /** Strings close a value in arrays, but only after ':' in objects. */
+        private boolean completesValue() {
+            return !object || expectingValue;
+        }
+    }
+}
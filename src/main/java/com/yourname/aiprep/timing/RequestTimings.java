@@ -0,0 +1,140 @@
+package com.yourname.aiprep.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request phase timings and attributes, reported as a Server-Timing header,
+ * a final SSE "timing" event and one structured log line.
+ *
+ * The instance is bound to the request thread by TimingFilter. Work handed to
+ * another thread must be wrapped with {@link #wrap(Runnable)} to keep
+ * reporting. Code running outside a request gets a no-op instance.
+ *
+ * Phase names are stable: rate_limit, validate, cache, question_bank, llm,
+ * parse, parse_lenient, json_repair, total.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final RequestTimings NOOP = new RequestTimings(false);
+    private static final Span NOOP_SPAN = () -> { };
+
+    private final boolean active;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+
+    private RequestTimings(boolean active) {
+        this.active = active;
+    }
+
+    /** Starts collecting for a new request and binds it to the current thread. */
+    public static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings(true);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings != null ? timings : NOOP;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** Times a phase; repeated phases accumulate duration and count. */
+    public Span start(String phase) {
+        if (!active) return NOOP_SPAN;
+        long start = System.nanoTime();
+        return () -> record(phase, System.nanoTime() - start);
+    }
+
+    public synchronized void attribute(String key, Object value) {
+        if (active) attributes.put(key, String.valueOf(value));
+    }
+
+    public synchronized void increment(String key) {
+        if (!active) return;
+        attributes.merge(key, "1", (old, one) -> String.valueOf(Long.parseLong(old) + 1));
+    }
+
+    /** Runs {@code task} with these timings bound to whichever thread executes it. */
+    public Runnable wrap(Runnable task) {
+        if (!active) return task;
+        return () -> {
+            CURRENT.set(this);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public synchronized String toServerTimingHeader() {
+        if (!active) return "";
+        StringBuilder sb = new StringBuilder();
+        phases.forEach((name, phase) -> append(sb, name + ";dur=" + millis(phase.nanos)
+            + (phase.count > 1 ? ";desc=\"" + phase.count + " calls\"" : "")));
+        append(sb, "total;dur=" + millis(System.nanoTime() - startNanos));
+        attributes.forEach((key, value) -> append(sb, key + ";desc=\"" + value.replace("\"", "'") + "\""));
+        return sb.toString();
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> phaseMap = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> phaseMap.put(name, Map.of(
+            "ms", Double.parseDouble(millis(phase.nanos)),
+            "count", phase.count
+        )));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalMs", Double.parseDouble(millis(System.nanoTime() - startNanos)));
+        result.put("phases", phaseMap);
+        result.put("attributes", new LinkedHashMap<>(attributes));
+        return result;
+    }
+
+    /** key=value pairs for a single log line, e.g. {@code total_ms=12.3 llm_ms=10.1 model=x}. */
+    public synchronized String toLogFields() {
+        StringBuilder sb = new StringBuilder("total_ms=").append(millis(System.nanoTime() - startNanos));
+        phases.forEach((name, phase) -> {
+            sb.append(' ').append(name).append("_ms=").append(millis(phase.nanos));
+            if (phase.count > 1) sb.append(' ').append(name).append("_count=").append(phase.count);
+        });
+        attributes.forEach((key, value) -> sb.append(' ').append(key).append('=').append(value.replace(' ', '_')));
+        return sb.toString();
+    }
+
+    // -------------------------------------------------------------------------
+
+    private synchronized void record(String phase, long nanos) {
+        Phase entry = phases.computeIfAbsent(phase, name -> new Phase());
+        entry.nanos += nanos;
+        entry.count++;
+    }
+
+    private static void append(StringBuilder sb, String entry) {
+        if (!sb.isEmpty()) sb.append(", ");
+        sb.append(entry);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Phase {
+        private long nanos;
+        private int count;
+    }
+
+    /** Closes a timed phase. Use with try-with-resources. */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
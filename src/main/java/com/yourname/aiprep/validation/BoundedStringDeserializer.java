@@ -0,0 +1,49 @@
+package com.yourname.aiprep.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * String deserializer that enforces {@link MaxChars}. The length is checked
+ * before the token is materialized as a String.
+ */
+public class BoundedStringDeserializer extends StdDeserializer<String> implements ContextualDeserializer {
+
+    private final int maxChars;
+    private final String fieldName;
+
+    public BoundedStringDeserializer() {
+        this(Integer.MAX_VALUE, "Field");
+    }
+
+    private BoundedStringDeserializer(int maxChars, String fieldName) {
+        super(String.class);
+        this.maxChars = maxChars;
+        this.fieldName = fieldName;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+        MaxChars limit = property == null ? null : property.getAnnotation(MaxChars.class);
+        if (limit == null) return this;
+        return new BoundedStringDeserializer(limit.value(), limit.field());
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return (String) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        if (p.getTextLength() > maxChars) {
+            throw new IllegalArgumentException(
+                fieldName + " exceeds maximum length of " + maxChars + " characters.");
+        }
+        return p.getText();
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourname.aiprep.validation;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps a string field while the request body is deserialized, so oversized
+ * values are rejected before they reach the controller.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonDeserialize(using = BoundedStringDeserializer.class)
+public @interface MaxChars {
+
+    int value();
+
+    /** User-facing field name used in the error message. */
+    String field();
+}
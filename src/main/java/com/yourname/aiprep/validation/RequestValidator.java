@@ -12,10 +12,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class RequestValidator {
 
-    private static final int MAX_JOB_TITLE_CHARS = 200;
-    private static final int MAX_QUESTION_CHARS  = 1_000;
-    private static final int MAX_ANSWER_CHARS    = 5_000;
-    private static final int MAX_JOB_DESC_CHARS  = 4_000;
+    public static final int MAX_JOB_TITLE_CHARS = 200;
+    public static final int MAX_QUESTION_CHARS  = 1_000;
+    public static final int MAX_ANSWER_CHARS    = 5_000;
+    public static final int MAX_JOB_DESC_CHARS  = 4_000;
 
     /**
      * Validates a ReviewAnswerRequest (used for both review and ideal-answer endpoints).
@@ -31,7 +31,16 @@ public class RequestValidator {
             sanitize(request.question(), MAX_QUESTION_CHARS, "Question"), "Question");
         String answer   = sanitize(request.answer(), MAX_ANSWER_CHARS, "Answer");
 
-        return new ReviewAnswerRequest(jobTitle, question, answer);
+        return new ReviewAnswerRequest(question, answer, jobTitle);
+    }
+
+    /**
+     * Validates a ReviewAnswerRequest for the review endpoint, where an answer is required.
+     */
+    public ReviewAnswerRequest validateReview(ReviewAnswerRequest request) {
+        ReviewAnswerRequest sanitized = validateAndSanitize(request);
+        requireNonBlank(sanitized.answer(), "Answer");
+        return sanitized;
     }
 
     /**
@@ -0,0 +1,100 @@
+package com.yourname.aiprep.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ClientKeyResolverTest {
+
+    @Test
+    void ignoresForwardedHeaderWithoutTrustedProxies() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 0, List.of());
+
+        String key = resolver.resolve(request("203.0.113.7", "198.51.100.1"));
+
+        assertThat(key).isEqualTo(resolver.normalize("203.0.113.7"));
+    }
+
+    @Test
+    void usesRightMostHopPastTrustedProxyCount() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 1, List.of());
+
+        String key = resolver.resolve(request("10.0.0.5", "1.1.1.1, 198.51.100.1"));
+
+        assertThat(key).isEqualTo(resolver.normalize("198.51.100.1"));
+    }
+
+    @Test
+    void walksPastTrustedProxyNetworks() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 0, List.of("10.0.0.0/8", "192.0.2.0/24"));
+
+        String key = resolver.resolve(request("10.0.0.5", "1.1.1.1, 198.51.100.1, 192.0.2.9"));
+
+        assertThat(key).isEqualTo(resolver.normalize("198.51.100.1"));
+    }
+
+    @Test
+    void fallsBackToPeerForUnparseableHops() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 1, List.of());
+
+        String first = resolver.resolve(request("10.0.0.5", "garbage-1"));
+        String second = resolver.resolve(request("10.0.0.5", "garbage-2"));
+
+        assertThat(first).isEqualTo(resolver.normalize("10.0.0.5")).isEqualTo(second);
+    }
+
+    @Test
+    void aggregatesIpv6ByPrefix() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 0, List.of());
+
+        assertThat(resolver.normalize("2001:db8:0:1::1"))
+            .isEqualTo(resolver.normalize("2001:db8:0:1:ffff:ffff:ffff:ffff"))
+            .isNotEqualTo(resolver.normalize("2001:db8:0:2::1"))
+            .isEqualTo("620010db800000001");
+    }
+
+    @Test
+    void canonicalizesAddressSpellings() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 0, List.of());
+
+        assertThat(resolver.normalize("192.168.0.1"))
+            .isEqualTo("4c0a80001")
+            .isEqualTo(resolver.normalize("192.168.0.1:5555"))
+            .isEqualTo(resolver.normalize("::ffff:192.168.0.1"));
+        assertThat(resolver.normalize("[2001:DB8::1]:443")).isEqualTo(resolver.normalize("2001:db8::1"));
+    }
+
+    @Test
+    void masksPartialBytes() {
+        ClientKeyResolver resolver = new ClientKeyResolver(20, 64, 0, List.of());
+
+        assertThat(resolver.normalize("192.168.31.200")).isEqualTo("4c0a810");
+    }
+
+    @Test
+    void rejectsNonLiterals() {
+        ClientKeyResolver resolver = new ClientKeyResolver(32, 64, 0, List.of());
+
+        assertThat(resolver.normalize("example.com")).isNull();
+        assertThat(resolver.normalize("1.2.3")).isNull();
+        assertThat(resolver.normalize("")).isNull();
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new ClientKeyResolver(0, 64, 0, List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ClientKeyResolver(32, 64, 0, List.of("not-a-network/8")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.yourname.aiprep.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.exception.GlobalExceptionHandler;
+import com.yourname.aiprep.model.ReviewAnswerRequest;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Body limits and how oversized bodies and fields map to 413 and 400. */
+class RequestSizeFilterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+    private final RequestSizeFilter filter = new RequestSizeFilter();
+    private final MockMvc mockMvc;
+
+    RequestSizeFilterTest() {
+        ReflectionTestUtils.setField(filter, "defaultMaxBytes", 16_384L);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EchoController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(converter)
+            .addFilters(filter)
+            .build();
+    }
+
+    @Test
+    void idealAcceptsTheSameBodiesAsReview() throws Exception {
+        // A maximal answer of escaped non-ASCII characters is ~30 KB on the wire.
+        String body = body("\\u00e9".repeat(5_000));
+        assertThat(body.length()).isGreaterThan(16_384);
+
+        for (String route : new String[] {"/api/mock-interview/review", "/api/mock-interview/ideal"}) {
+            mockMvc.perform(post(route).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void rejectsDeclaredLengthOverRouteLimit() throws Exception {
+        mockMvc.perform(post("/api/mock-interview/ideal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body("x".repeat(70_000))))
+            .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void rejectsOverlongFieldWithBadRequest() throws Exception {
+        mockMvc.perform(post("/api/mock-interview/review")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body("x".repeat(5_001))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Answer exceeds maximum length of 5000 characters."));
+    }
+
+    @Test
+    void capsBodiesWithoutContentLength() throws Exception {
+        // Hides the declared length, as for a chunked upload.
+        Filter chunked = (request, response, chain) -> chain.doFilter(
+            new HttpServletRequestWrapper((HttpServletRequest) request) {
+                @Override
+                public int getContentLength() {
+                    return -1;
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    return -1;
+                }
+            }, response);
+        MockMvc chunkedMvc = MockMvcBuilders.standaloneSetup(new EchoController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(converter)
+            .addFilters(chunked, filter)
+            .build();
+
+        chunkedMvc.perform(post("/api/mock-interview/ideal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body("x".repeat(70_000))))
+            .andExpect(status().isPayloadTooLarge())
+            .andExpect(jsonPath("$.error").value("Request body exceeds maximum size of 65536 bytes."));
+    }
+
+    @Test
+    void usesDefaultLimitForOtherRoutes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/other");
+        request.setContent(new byte[16_385]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            throw new AssertionError("chain should not run");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+    }
+
+    // -------------------------------------------------------------------------
+
+    private String body(String answer) {
+        return "{\"question\":\"Why?\",\"answer\":\"" + answer + "\",\"jobTitle\":\"Engineer\"}";
+    }
+
+    @RestController
+    static class EchoController {
+
+        @PostMapping({"/api/mock-interview/review", "/api/mock-interview/ideal"})
+        int answerLength(@RequestBody ReviewAnswerRequest request) {
+            return request.answer().length();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.yourname.aiprep.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.config.LlmProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+/** Member selection against fake endpoints keyed by host name. */
+class LlmPoolClientTest {
+
+    private static final ChatRequest REQUEST =
+        new ChatRequest(List.of(Map.of("role", "user", "content", "hi")), 0.2, null);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    private final RestClient restClient = RestClient.builder()
+        .requestFactory((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                calls.computeIfAbsent(uri.getHost(), host -> new AtomicInteger()).incrementAndGet();
+                try {
+                    return endpoints.get(uri.getHost()).respond();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        })
+        .build();
+
+    @Test
+    void spillsOverToNextTierWhenLowestTierIsSaturated() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        endpoints.put("a", () -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ok();
+        });
+        endpoints.put("b", LlmPoolClientTest::ok);
+        LlmPoolClient client = pool(Duration.ofSeconds(5), member("a", 0, 1), member("b", 1, 1));
+
+        CompletableFuture<ChatCompletion> first = CompletableFuture.supplyAsync(() -> client.chat(REQUEST));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        ChatCompletion second = client.chat(REQUEST);
+        assertThat(second.member()).isEqualTo("b");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).member()).isEqualTo("a");
+    }
+
+    @Test
+    void coolsDownFailedMemberAndRetriesOnNext() {
+        endpoints.put("a", () -> error(HttpStatus.TOO_MANY_REQUESTS));
+        endpoints.put("b", LlmPoolClientTest::ok);
+        LlmPoolClient client = pool(Duration.ofMillis(100), member("a", 0, 4), member("b", 1, 4));
+
+        ChatCompletion first = client.chat(REQUEST);
+        assertThat(first.member()).isEqualTo("b");
+        assertThat(first.attempts()).isEqualTo(2);
+
+        ChatCompletion second = client.chat(REQUEST);
+        assertThat(second.member()).isEqualTo("b");
+        assertThat(second.attempts()).isEqualTo(1);
+        assertThat(calls.get("a")).hasValue(1);
+    }
+
+    @Test
+    void probesCoolingMemberWhenNoneIsHealthy() {
+        endpoints.put("a", () -> error(HttpStatus.SERVICE_UNAVAILABLE));
+        LlmPoolClient client = pool(Duration.ofMillis(100), member("a", 0, 4));
+
+        assertThatThrownBy(() -> client.chat(REQUEST)).isInstanceOf(RestClientResponseException.class);
+
+        endpoints.put("a", LlmPoolClientTest::ok);
+        assertThat(client.chat(REQUEST).member()).isEqualTo("a");
+        assertThat(calls.get("a")).hasValue(2);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        endpoints.put("a", () -> error(HttpStatus.BAD_REQUEST));
+        endpoints.put("b", LlmPoolClientTest::ok);
+        LlmPoolClient client = pool(Duration.ofMillis(100), member("a", 0, 4), member("b", 1, 4));
+
+        assertThatThrownBy(() -> client.chat(REQUEST)).isInstanceOf(RestClientResponseException.class);
+        assertThat(calls).doesNotContainKey("b");
+    }
+
+    @Test
+    void backgroundFailuresDoNotCoolDownMembers() {
+        endpoints.put("a", () -> error(HttpStatus.TOO_MANY_REQUESTS));
+        LlmPoolClient client = pool(Duration.ofSeconds(30), member("a", 0, 4));
+
+        ChatRequest background = new ChatRequest(REQUEST.messages(), 0.2, null, true);
+        assertThatThrownBy(() -> client.chat(background)).isInstanceOf(RestClientResponseException.class);
+
+        endpoints.put("a", LlmPoolClientTest::ok);
+        assertThat(client.chat(background).member()).isEqualTo("a");
+    }
+
+    // -------------------------------------------------------------------------
+
+    @FunctionalInterface
+    private interface Endpoint {
+        ClientHttpResponse respond() throws IOException, InterruptedException;
+    }
+
+    private LlmPoolClient pool(Duration acquireTimeout, LlmProperties.Member... members) {
+        LlmProperties properties = new LlmProperties(List.of(members), Duration.ofSeconds(30), acquireTimeout, false);
+        return new LlmPoolClient(restClient, new ObjectMapper(), properties, new SimpleMeterRegistry());
+    }
+
+    private static LlmProperties.Member member(String name, int priority, int maxConcurrency) {
+        return new LlmProperties.Member(name, "http://" + name + "/v1/chat/completions", "key", "model",
+            priority, maxConcurrency, false);
+    }
+
+    private static ClientHttpResponse ok() {
+        return response("{\"choices\":[{\"message\":{\"content\":\"ok\"}}]}", HttpStatus.OK);
+    }
+
+    private static ClientHttpResponse error(HttpStatusCode status) {
+        return response("{\"error\":{\"message\":\"failed\"}}", status);
+    }
+
+    private static ClientHttpResponse response(String body, HttpStatusCode status) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response;
+    }
+}
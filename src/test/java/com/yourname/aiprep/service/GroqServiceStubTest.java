@@ -0,0 +1,64 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.llm.StubLlmClient;
+import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.model.ReviewAndIdealResponse;
+import com.yourname.aiprep.model.ReviewAnswerRequest;
+import com.yourname.aiprep.model.ReviewAnswerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Runs GroqService end to end against the offline stub client. */
+class GroqServiceStubTest {
+
+    private static final ReviewAnswerRequest REQUEST = new ReviewAnswerRequest(
+        "How would you design a rate limiter?", "Token bucket in Redis.", "Backend Engineer");
+
+    // Same defaults as the application's mapper (unknown properties are ignored).
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GroqService groqService = new GroqService(
+        new StubLlmClient(),
+        objectMapper,
+        meterRegistry,
+        new QuestionBankService(null, objectMapper, meterRegistry)
+    );
+
+    @Test
+    void generatesInterviewSession() {
+        MockInterviewSession session = groqService.generateMockInterviewSession("Backend engineer, Java and Redis");
+
+        assertThat(session.jobTitle()).isEqualTo("Software Engineer");
+        assertThat(session.questions()).hasSize(8);
+    }
+
+    @Test
+    void reviewsAnswer() {
+        ReviewAnswerResponse review = groqService.reviewMockAnswer(REQUEST);
+
+        assertThat(review.score()).isEqualTo("7");
+        assertThat(review.strengths()).containsExactly("Clear structure");
+    }
+
+    @Test
+    void returnsReviewAndIdealAnswerFromOneCompletion() {
+        List<ReviewAnswerResponse> streamed = new ArrayList<>();
+
+        ReviewAndIdealResponse response = groqService.reviewAndIdealAnswer(REQUEST, streamed::add);
+
+        assertThat(streamed).containsExactly(response.review());
+        assertThat(response.review().summary()).isEqualTo("Stub review.");
+        assertThat(response.ideal().answer()).isEqualTo("Stub ideal answer.");
+    }
+
+    @Test
+    void generatesIdealAnswer() {
+        assertThat(groqService.generateIdealAnswer(REQUEST).answer()).isEqualTo("Stub ideal answer.");
+    }
+}
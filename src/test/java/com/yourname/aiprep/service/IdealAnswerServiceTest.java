@@ -0,0 +1,122 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.model.IdealAnswerResponse;
+import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.model.ReviewAnswerRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Collapsing of concurrent generations for one question; the cache always misses. */
+class IdealAnswerServiceTest {
+
+    private static final ReviewAnswerRequest REQUEST =
+        new ReviewAnswerRequest("How would you design a rate limiter?", null, "Backend Engineer");
+    private static final IdealAnswerResponse ANSWER = new IdealAnswerResponse("Token bucket in Redis.");
+
+    private final GroqService groqService = mock(GroqService.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final IdealAnswerService service = new IdealAnswerService(
+        groqService, redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 1, 10);
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "cacheTtlSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxQuestionsPerSession", 10);
+        ReflectionTestUtils.setField(service, "maxInteractiveInFlight", 4);
+        ReflectionTestUtils.setField(service, "maxPrefetchPerMinute", 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void concurrentCallersShareOneGeneration() throws Exception {
+        when(groqService.generateIdealAnswer(any(), eq(false))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ANSWER;
+        });
+
+        CompletableFuture<IdealAnswerResponse> first = CompletableFuture.supplyAsync(() -> service.getIdealAnswer(REQUEST));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<IdealAnswerResponse> second = CompletableFuture.supplyAsync(() -> service.getIdealAnswer(REQUEST));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(ANSWER);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(ANSWER);
+        verify(groqService, times(1)).generateIdealAnswer(any(), eq(false));
+    }
+
+    @Test
+    void joinedCallerGetsTheOriginalFailure() throws Exception {
+        IllegalStateException failure = new IllegalStateException("unparseable");
+        when(groqService.generateIdealAnswer(any(), eq(false))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw failure;
+        });
+
+        CompletableFuture<IdealAnswerResponse> first = CompletableFuture.supplyAsync(() -> service.getIdealAnswer(REQUEST));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<IdealAnswerResponse> second = CompletableFuture.supplyAsync(() -> service.getIdealAnswer(REQUEST));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        verify(groqService, times(1)).generateIdealAnswer(any(), eq(false));
+    }
+
+    @Test
+    void interactiveCallerFallsBackWhenPrefetchFails() throws Exception {
+        when(groqService.generateIdealAnswer(any(), eq(true))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("No LLM capacity available");
+        });
+        when(groqService.generateIdealAnswer(any(), eq(false))).thenReturn(ANSWER);
+
+        service.prefetch(new MockInterviewSession(REQUEST.jobTitle(), List.of(REQUEST.question())));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<IdealAnswerResponse> interactive =
+            CompletableFuture.supplyAsync(() -> service.getIdealAnswer(REQUEST));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(interactive.get(5, TimeUnit.SECONDS)).isEqualTo(ANSWER);
+        verify(groqService, times(1)).generateIdealAnswer(any(), eq(true));
+        verify(groqService, times(1)).generateIdealAnswer(any(), eq(false));
+    }
+}
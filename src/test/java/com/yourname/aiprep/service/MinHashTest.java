@@ -0,0 +1,50 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MinHashTest {
+
+    private static final String POSTING = """
+        Senior Backend Engineer
+        - Design and operate Java services on Spring Boot
+        - Own PostgreSQL schemas and Redis caching
+        - Mentor engineers and review pull requests
+        - Participate in the on-call rotation
+        """;
+
+    @Test
+    void signaturesAreDeterministic() {
+        assertThat(MinHash.signature(POSTING)).isEqualTo(MinHash.signature(POSTING));
+        assertThat(MinHash.signature(POSTING)).hasSize(MinHash.NUM_HASHES);
+    }
+
+    @Test
+    void reorderedAndRecasedBulletsStaySimilar() {
+        String reordered = """
+            SENIOR BACKEND ENGINEER
+            - Participate in the on-call rotation.
+            - Mentor engineers and review pull requests
+            - Design and operate Java services on Spring Boot
+            - Own PostgreSQL schemas and Redis caching
+            """;
+
+        double similarity = MinHash.similarity(MinHash.signature(POSTING), MinHash.signature(reordered));
+
+        assertThat(similarity).isGreaterThanOrEqualTo(0.8);
+    }
+
+    @Test
+    void unrelatedPostingsAreDissimilar() {
+        String other = """
+            Pastry Chef
+            - Prepare laminated doughs and seasonal desserts
+            - Manage inventory for the bakery counter
+            """;
+
+        double similarity = MinHash.similarity(MinHash.signature(POSTING), MinHash.signature(other));
+
+        assertThat(similarity).isLessThan(0.2);
+    }
+}
@@ -0,0 +1,122 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.model.MockInterviewSession;
+import com.yourname.aiprep.repository.QuestionBankRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class QuestionBankServiceTest {
+
+    private static final String POSTING = """
+        Senior Backend Engineer
+        - Design and operate Java services on Spring Boot
+        - Own PostgreSQL schemas and Redis caching
+        - Mentor engineers and review pull requests
+        """;
+
+    private static final MockInterviewSession SESSION =
+        new MockInterviewSession("Backend Engineer", List.of("How do you size a connection pool?"));
+
+    private final InMemoryRepository repository = new InMemoryRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuestionBankService bank = new QuestionBankService(repository, new ObjectMapper(), meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bank, "enabled", true);
+        ReflectionTestUtils.setField(bank, "similarityThreshold", 0.8);
+        ReflectionTestUtils.setField(bank, "refreshSeconds", 3600L);
+        ReflectionTestUtils.setField(bank, "maxEntries", 100);
+        ReflectionTestUtils.setField(bank, "retentionDays", 30L);
+        bank.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bank.stop();
+    }
+
+    @Test
+    void storesOffTheCallingThread() throws InterruptedException {
+        bank.store(POSTING, SESSION);
+
+        awaitStores(1);
+        assertThat(repository.insertThreads).containsExactly("question-bank-refresh");
+        assertThat(bank.find(POSTING)).contains(SESSION);
+    }
+
+    @Test
+    void skipsNearDuplicates() throws InterruptedException {
+        bank.store(POSTING, SESSION);
+        bank.store(POSTING + "\n", SESSION);
+        awaitStores(2);
+
+        assertThat(repository.rows).hasSize(1);
+        assertThat(meterRegistry.counter("aiprep.question_bank.store", "result", "duplicate").count()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresStoresOnceStopped() {
+        bank.stop();
+        bank.store(POSTING, SESSION);
+
+        assertThat(repository.rows).isEmpty();
+    }
+
+    private void awaitStores(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("aiprep.question_bank.store").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum() < expected
+            && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    private static final class InMemoryRepository extends QuestionBankRepository {
+        private final Map<Long, BankEntry> rows = new ConcurrentHashMap<>();
+        private final List<String> insertThreads = new CopyOnWriteArrayList<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        private InMemoryRepository() {
+            super(null);
+        }
+
+        @Override
+        public long insert(String jobTitle, String questionsJson, int[] signature) {
+            long id = ids.incrementAndGet();
+            rows.put(id, new BankEntry(id, jobTitle, questionsJson));
+            insertThreads.add(Thread.currentThread().getName());
+            return id;
+        }
+
+        @Override
+        public List<SignatureRow> findSignaturesAfter(Instant createdAt, long afterId, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public int deleteOlderThan(Instant cutoff) {
+            return 0;
+        }
+
+        @Override
+        public BankEntry findById(long id) {
+            return rows.get(id);
+        }
+    }
+}
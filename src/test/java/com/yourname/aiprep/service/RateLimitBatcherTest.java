@@ -0,0 +1,132 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.yourname.aiprep.service.RateLimiterService.RateLimitStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Batching against a mocked pipeline that counts HINCRBY per field in memory. */
+class RateLimitBatcherTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+    private final AtomicInteger pipelines = new AtomicInteger();
+    private List<Object> replies;
+
+    private final RateLimitBatcher batcher = new RateLimitBatcher(redisTemplate, new SimpleMeterRegistry(), 100);
+
+    @BeforeEach
+    void setUp() {
+        when(connection.hashCommands()).thenReturn(hashCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        doAnswer(invocation -> {
+            String field = new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8)
+                + "/" + new String((byte[]) invocation.getArgument(1), StandardCharsets.UTF_8);
+            replies.add(counts.merge(field, 1L, Long::sum));
+            return null;
+        }).when(hashCommands).hIncrBy(any(byte[].class), any(byte[].class), anyLong());
+        doAnswer(invocation -> {
+            replies.add(true);
+            return null;
+        }).when(keyCommands).expireAt(any(byte[].class), anyLong());
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            pipelines.incrementAndGet();
+            replies = new ArrayList<>();
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return replies;
+        });
+
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxSize", 64);
+        ReflectionTestUtils.setField(batcher, "maxWaitMicros", 50_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+    }
+
+    @Test
+    void completesEachFutureWithItsCountFromOnePipeline() throws Exception {
+        batcher.start();
+
+        List<CompletableFuture<Long>> results = List.of(
+            batcher.increment("rl:m:1:0", "a", 60),
+            batcher.increment("rl:m:1:0", "a", 60),
+            batcher.increment("rl:m:1:0", "b", 60)
+        );
+
+        assertThat(results.get(0).get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(results.get(1).get(1, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(results.get(2).get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(pipelines).hasValue(1);
+    }
+
+    @Test
+    void failsEveryFutureInAFailedPipeline() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+            .thenThrow(new RedisConnectionFailureException("down"));
+        batcher.start();
+
+        CompletableFuture<Long> result = batcher.increment("rl:m:1:0", "a", 60);
+
+        assertThat(result).failsWithin(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void rejectsIncrementsWhenNotRunning() {
+        assertThat(batcher.increment("rl:m:1:0", "a", 60)).isCompletedExceptionally();
+    }
+
+    @Test
+    void consumeFailsOpenWhenTheBatchTimesOut() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return List.of();
+        });
+        batcher.start();
+
+        RateLimiterService limiter = new RateLimiterService(redisTemplate, batcher, 1_000, 0);
+        ReflectionTestUtils.setField(limiter, "maxRequestsPerMinute", 10);
+        ReflectionTestUtils.setField(limiter, "windowMinuteSeconds", 60L);
+        ReflectionTestUtils.setField(limiter, "maxRequestsPerDay", 500);
+        ReflectionTestUtils.setField(limiter, "windowDaySeconds", 86_400L);
+        ReflectionTestUtils.setField(limiter, "batchTimeoutMillis", 50L);
+
+        long start = System.nanoTime();
+        RateLimitStatus status = limiter.consume("4c0a80001");
+
+        assertThat(status.allowed()).isTrue();
+        assertThat(status.minute().remaining()).isEqualTo(10);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+    }
+}
@@ -0,0 +1,78 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.aiprep.service.RateLimiterService.RateLimitStatus;
+import com.yourname.aiprep.service.RateLimiterService.WindowStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RateLimitDenyListTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitDenyList denyList = new RateLimitDenyList(null, new ObjectMapper(), meterRegistry, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(denyList, "enabled", true);
+        ReflectionTestUtils.setField(denyList, "maxEntries", 2);
+    }
+
+    @Test
+    void agesResetHeadersAndExpiresWhenTheWindowResets() throws InterruptedException {
+        denyList.deny("client", blocked(2, 3_600, true));
+
+        RateLimitStatus cached = denyList.lookup("client");
+        assertThat(cached.allowed()).isFalse();
+        assertThat(cached.minute().resetSeconds()).isEqualTo(2);
+
+        Thread.sleep(1_100);
+        RateLimitStatus aged = denyList.lookup("client");
+        assertThat(aged.minute().resetSeconds()).isEqualTo(1);
+        assertThat(aged.day().resetSeconds()).isEqualTo(3_599);
+        assertThat(aged.resetSeconds()).isEqualTo(1);
+
+        Thread.sleep(1_000);
+        assertThat(denyList.lookup("client")).isNull();
+    }
+
+    @Test
+    void blocksUntilTheLongestExhaustedWindowResets() throws InterruptedException {
+        denyList.deny("client", blocked(1, 3_600, false));
+
+        Thread.sleep(1_100);
+        assertThat(denyList.lookup("client")).isNotNull();
+    }
+
+    @Test
+    void ignoresAllowedStatuses() {
+        WindowStatus open = new WindowStatus(true, 10, 5, 30);
+        denyList.deny("client", new RateLimitStatus(true, 10, 5, 30, open, open));
+
+        assertThat(denyList.lookup("client")).isNull();
+    }
+
+    @Test
+    void staysWithinMaxEntries() {
+        denyList.deny("a", blocked(60, 3_600, true));
+        denyList.deny("b", blocked(60, 3_600, true));
+        denyList.deny("c", blocked(60, 3_600, true));
+
+        assertThat(denyList.lookup("c")).isNull();
+        assertThat(meterRegistry.counter("aiprep.rate_limit.deny_list", "result", "full").count()).isEqualTo(1);
+
+        // Refreshing an existing client still works when full.
+        denyList.deny("a", blocked(30, 3_600, true));
+        assertThat(denyList.lookup("a").minute().resetSeconds()).isEqualTo(30);
+    }
+
+    /** Minute window exhausted; the day window too unless {@code dayAllowed}. */
+    private static RateLimitStatus blocked(long minuteReset, long dayReset, boolean dayAllowed) {
+        WindowStatus minute = new WindowStatus(false, 10, 0, minuteReset);
+        WindowStatus day = new WindowStatus(dayAllowed, 500, dayAllowed ? 100 : 0, dayReset);
+        return new RateLimitStatus(false, 10, 0, minuteReset, minute, day);
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourname.aiprep.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class TruncatedJsonRepairTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void leavesCompleteJsonParseable() throws Exception {
+        String json = "{\"jobTitle\": \"Engineer\", \"questions\": [\"a\", \"b\"]}";
+
+        JsonNode node = objectMapper.readTree(TruncatedJsonRepair.repair(json));
+
+        assertThat(node.path("questions")).hasSize(2);
+    }
+
+    @Test
+    void dropsUnterminatedStringAndClosesContainers() throws Exception {
+        String truncated = "{\"jobTitle\": \"Engineer\", \"questions\": [\"first?\", \"second?\", \"thi";
+
+        JsonNode node = objectMapper.readTree(TruncatedJsonRepair.repair(truncated));
+
+        assertThat(node.path("jobTitle").asText()).isEqualTo("Engineer");
+        assertThat(node.path("questions")).hasSize(2);
+        assertThat(node.path("questions").get(1).asText()).isEqualTo("second?");
+    }
+
+    @Test
+    void ignoresBracketsInsideStrings() throws Exception {
+        String truncated = "{\"questions\": [\"What does [1, {2}] print?\", \"Why";
+
+        JsonNode node = objectMapper.readTree(TruncatedJsonRepair.repair(truncated));
+
+        assertThat(node.path("questions")).hasSize(1);
+        assertThat(node.path("questions").get(0).asText()).isEqualTo("What does [1, {2}] print?");
+    }
+
+    @Test
+    void returnsNullWithoutJsonContainer() {
+        assertThat(TruncatedJsonRepair.repair("no json here")).isNull();
+        assertThat(TruncatedJsonRepair.repair(null)).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package com.yourname.aiprep.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.yourname.aiprep.model.ReviewAnswerRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class BoundedStringDeserializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void acceptsValuesAtTheLimit() throws Exception {
+        ReviewAnswerRequest request = read("x".repeat(RequestValidator.MAX_ANSWER_CHARS));
+
+        assertThat(request.answer()).hasSize(RequestValidator.MAX_ANSWER_CHARS);
+    }
+
+    @Test
+    void rejectsValuesOverTheLimitWithFieldName() {
+        assertThatThrownBy(() -> read("x".repeat(RequestValidator.MAX_ANSWER_CHARS + 1)))
+            .isInstanceOf(JsonMappingException.class)
+            .rootCause()
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Answer exceeds maximum length of 5000 characters.");
+    }
+
+    @Test
+    void countsCharactersNotEscapes() throws Exception {
+        ReviewAnswerRequest request = read("\\u00e9".repeat(RequestValidator.MAX_ANSWER_CHARS));
+
+        assertThat(request.answer()).hasSize(RequestValidator.MAX_ANSWER_CHARS);
+    }
+
+    @Test
+    void rejectsNonStringValues() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"question\":[\"a\"]}", ReviewAnswerRequest.class))
+            .isInstanceOf(MismatchedInputException.class);
+    }
+
+    private ReviewAnswerRequest read(String answer) throws Exception {
+        return objectMapper.readValue(
+            "{\"question\":\"Why?\",\"answer\":\"" + answer + "\"}", ReviewAnswerRequest.class);
+    }
+}